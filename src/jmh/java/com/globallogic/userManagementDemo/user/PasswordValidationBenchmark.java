@@ -0,0 +1,82 @@
+package com.globallogic.userManagementDemo.user;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link PasswordPolicy} with the lookahead pattern it replaced. The {@code hostile-*} inputs are long
+ * strings that each lookahead scans again and backtracks through before the length check rejects them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidationBenchmark {
+
+    private static final Pattern LEGACY_PATTERN =
+            Pattern.compile("^(?=.*[a-z])(?=(?:[^A-Z]*[A-Z]){1}[^A-Z]*$)(?=(?:\\D*\\d){2}\\D*$)[a-zA-Z0-9]{8,12}$");
+
+    @Param({"valid", "invalid", "invalid-character", "hostile-no-digits", "hostile-uppercase"})
+    public String input;
+
+    @Param({"10000"})
+    public int hostileLength;
+
+    private String password;
+    private PasswordPolicy passwordPolicy;
+
+    @Setup
+    public void setUp() {
+        passwordPolicy = new PasswordPolicy(new PasswordPolicyProperties());
+        switch (input) {
+            case "valid":
+                password = "a2asfGfdfdf4";
+                break;
+            case "invalid":
+                password = "invalidPass";
+                break;
+            case "invalid-character":
+                password = "a2asfGfdfd!4";
+                break;
+            case "hostile-no-digits":
+                password = "A" + repeat('a', hostileLength) + "1";
+                break;
+            case "hostile-uppercase":
+                password = "a12" + repeat('B', hostileLength);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input " + input);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyPattern() {
+        return LEGACY_PATTERN.matcher(password).matches();
+    }
+
+    @Benchmark
+    public int passwordPolicy() {
+        return passwordPolicy.check(password);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,67 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import com.globallogic.userManagementDemo.user.dto.LoginResponse;
+import com.globallogic.userManagementDemo.user.dto.PhoneRequest;
+import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
+import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
+import com.globallogic.userManagementDemo.user.mapper.UserMapper;
+import com.globallogic.userManagementDemo.user.mapper.UserMapperImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private SignUpRequest signUpRequest;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        PhoneRequest phoneRequest = new PhoneRequest(87650009L, 7, "25");
+        signUpRequest = new SignUpRequest("Julio Gonzalez", "julio@julio.com", "a2asfGfdfdf4", List.of(phoneRequest, phoneRequest));
+
+        LocalDateTime now = LocalDateTime.now();
+        user = new User(UUID.randomUUID(), "Julio Gonzalez", "julio@julio.com", "hashedPassword", now, now, "token", true, 0, null);
+        user.setPhones(List.of(
+                new Phone(1L, 87650009L, 7, "25", user),
+                new Phone(2L, 12345678L, 1, "01", user)));
+    }
+
+    @Benchmark
+    public User toUser() {
+        return userMapper.toUser(signUpRequest);
+    }
+
+    @Benchmark
+    public SignUpResponse toSignUpResponse() {
+        return userMapper.toSignUpResponse(user);
+    }
+
+    @Benchmark
+    public LoginResponse toLoginResponse() {
+        return userMapper.toLoginResponse(user);
+    }
+}
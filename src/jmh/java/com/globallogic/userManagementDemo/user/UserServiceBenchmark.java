@@ -0,0 +1,82 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.UserManagementDemoApplication;
+import com.globallogic.userManagementDemo.user.dto.LoginResponse;
+import com.globallogic.userManagementDemo.user.dto.PhoneRequest;
+import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
+import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the service against the real Spring context and the embedded H2 database, so the numbers
+ * include BCrypt, JWT signing and the JPA round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private String loginToken;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserManagementDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        loginToken = userService.signUp(nextSignUpRequest()).getToken();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SignUpResponse signUp() {
+        return userService.signUp(nextSignUpRequest());
+    }
+
+    @Benchmark
+    public LoginResponse loginUserByToken() {
+        LoginResponse response = userService.loginUserByToken(loginToken);
+        loginToken = response.getToken();
+        return response;
+    }
+
+    private SignUpRequest nextSignUpRequest() {
+        String email = "bench" + sequence.incrementAndGet() + "@julio.com";
+        return new SignUpRequest("Julio Gonzalez", email, "a2asfGfdfdf4",
+                List.of(new PhoneRequest(87650009L, 7, "25")));
+    }
+}
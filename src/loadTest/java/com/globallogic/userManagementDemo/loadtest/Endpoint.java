@@ -0,0 +1,29 @@
+package com.globallogic.userManagementDemo.loadtest;
+
+enum Endpoint {
+    SIGN_UP("sign-up"),
+    LOGIN("login");
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    String path() {
+        return "/" + name;
+    }
+
+    String displayName() {
+        return name;
+    }
+
+    static Endpoint of(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + name + "; expected sign-up or login");
+    }
+}
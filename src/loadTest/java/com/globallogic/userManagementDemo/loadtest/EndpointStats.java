@@ -0,0 +1,80 @@
+package com.globallogic.userManagementDemo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint, in microseconds. {@code latency} is measured from the time the request was
+ * scheduled to be sent, so a stalled server is charged for every request that had to wait behind it (no coordinated
+ * omission); {@code serviceTime} is measured from the time it was actually sent, for comparison.
+ */
+final class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Recorder latency = new Recorder(1, MAX_MICROS, 3);
+    private final Recorder serviceTime = new Recorder(1, MAX_MICROS, 3);
+    private final LongAdder scheduled = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void scheduled() {
+        scheduled.increment();
+    }
+
+    void record(long scheduledNanos, long sentNanos, long completedNanos, String outcome) {
+        latency.recordValue(clamp(TimeUnit.NANOSECONDS.toMicros(completedNanos - scheduledNanos)));
+        serviceTime.recordValue(clamp(TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos)));
+        outcome(outcome);
+    }
+
+    void outcome(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    Snapshot snapshot() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return new Snapshot(scheduled.sum(), counts, latency.getIntervalHistogram(), serviceTime.getIntervalHistogram());
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(1, Math.min(MAX_MICROS, micros));
+    }
+
+    static final class Snapshot {
+
+        final long scheduled;
+        final Map<String, Long> outcomes;
+        final Histogram latency;
+        final Histogram serviceTime;
+
+        private Snapshot(long scheduled, Map<String, Long> outcomes, Histogram latency, Histogram serviceTime) {
+            this.scheduled = scheduled;
+            this.outcomes = outcomes;
+            this.latency = latency;
+            this.serviceTime = serviceTime;
+        }
+
+        long successes() {
+            return outcomes.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        long total() {
+            return outcomes.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double errorRate() {
+            long total = total();
+            return total == 0 ? 0 : (double) (total - successes()) / total;
+        }
+    }
+}
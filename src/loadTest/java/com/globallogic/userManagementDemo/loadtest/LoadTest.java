@@ -0,0 +1,225 @@
+package com.globallogic.userManagementDemo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.UserManagementDemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: starts the application on an in-memory H2 database and sends it a mix of {@code /sign-up}
+ * and {@code /login} requests at a fixed arrival rate (an open model), whether or not earlier requests have
+ * completed. Writes JSON and HTML reports with throughput and latency percentiles per endpoint, and exits with
+ * status 1 when a {@code --max-p99-ms} or {@code --max-error-rate} gate is missed.
+ * <p>
+ * Run it with {@code ./gradlew loadTest -PloadTestArgs="--rate=300 --duration=60s"}.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "a2asfGfdfdf4";
+    private static final int SEED_PARALLELISM = 32;
+
+    private final LoadTestOptions options;
+    private final URI base;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<String> idleTokens = new ConcurrentLinkedQueue<>();
+    private final AtomicLong emails = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Random random = new Random();
+
+    private LoadTest(LoadTestOptions options, int port) {
+        this.options = options;
+        this.base = URI.create("http://localhost:" + port);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.h2.console.enabled", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.root", "WARN");
+        // Every request comes from the same address.
+        properties.put("rate-limit.enabled", false);
+        properties.putAll(options.appProperties);
+
+        // As command line arguments, so they take precedence over application.properties.
+        String[] applicationArgs = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(UserManagementDemoApplication.class)
+                .run(applicationArgs);
+        LoadTestReport report;
+        try {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            report = new LoadTest(options, port).run();
+        } finally {
+            application.close();
+        }
+        report.write(options.output);
+        report.print(System.out);
+        System.exit(report.passed() ? 0 : 1);
+    }
+
+    private LoadTestReport run() throws InterruptedException {
+        System.out.printf("Signing up %d users for login traffic%n", options.users);
+        seedUsers();
+        System.out.printf("Warming up for %d s at %.0f requests/s%n", options.warmUp.toSeconds(), options.rate);
+        drive(options.warmUp);
+        System.out.printf("Measuring for %d s at %.0f requests/s%n", options.duration.toSeconds(), options.rate);
+        Map<Endpoint, EndpointStats> stats = drive(options.duration);
+        return new LoadTestReport(options, stats);
+    }
+
+    private void seedUsers() throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_PARALLELISM);
+        CountDownLatch done = new CountDownLatch(options.users);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < options.users; i++) {
+            permits.acquire();
+            client.sendAsync(request(Endpoint.SIGN_UP, signUpBody()), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() != 201 || !addToken(response.body())) {
+                            failures.incrementAndGet();
+                        }
+                        permits.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        if (failures.get() > 0) {
+            System.out.printf("%d of %d sign-ups failed while seeding%n", failures.get(), options.users);
+        }
+    }
+
+    private Map<Endpoint, EndpointStats> drive(Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        Endpoint[] endpoints = options.mix.keySet().toArray(new Endpoint[0]);
+        double[] cumulative = new double[endpoints.length];
+        double total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            stats.put(endpoints[i], new EndpointStats());
+            total += options.mix.get(endpoints[i]);
+            cumulative[i] = total;
+        }
+
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double next = start;
+        while (next < end) {
+            long scheduled = (long) next;
+            long delay;
+            while ((delay = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            double pick = random.nextDouble() * total;
+            int index = 0;
+            while (index < endpoints.length - 1 && pick >= cumulative[index]) {
+                index++;
+            }
+            send(endpoints[index], scheduled, stats.get(endpoints[index]));
+            next += options.poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        long deadline = System.nanoTime() + options.timeout.toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    /**
+     * Sends without waiting for the response. Latency is counted from {@code scheduled}, so time spent behind a slow
+     * request in the sender is charged to this one too.
+     */
+    private void send(Endpoint endpoint, long scheduled, EndpointStats stats) {
+        stats.scheduled();
+        String body;
+        if (endpoint == Endpoint.LOGIN) {
+            // Each login supersedes the token it used, so every user has at most one login in flight.
+            String token = idleTokens.poll();
+            if (token == null) {
+                stats.outcome("no-idle-user");
+                return;
+            }
+            body = "{\"token\":\"" + token + "\"}";
+        } else {
+            body = signUpBody();
+        }
+        HttpRequest request = request(endpoint, body);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long completed = System.nanoTime();
+            String outcome;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                outcome = cause instanceof HttpTimeoutException ? "timeout" : "io-error";
+            } else {
+                outcome = String.valueOf(response.statusCode());
+                if (response.statusCode() / 100 == 2) {
+                    addToken(response.body());
+                }
+            }
+            stats.record(scheduled, sent, completed, outcome);
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private HttpRequest request(Endpoint endpoint, String body) {
+        return HttpRequest.newBuilder(base.resolve(endpoint.path()))
+                .timeout(options.timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String signUpBody() {
+        return "{\"name\":\"Load Test\",\"email\":\"load-" + runId + "-" + emails.incrementAndGet() + "@example.com\"," +
+                "\"password\":\"" + PASSWORD + "\",\"phones\":[{\"number\":87650009,\"citycode\":7,\"countrycode\":\"25\"}]}";
+    }
+
+    private boolean addToken(String body) {
+        try {
+            JsonNode token = objectMapper.readTree(body).get("token");
+            if (token != null && token.isTextual()) {
+                idleTokens.add(token.asText());
+                return true;
+            }
+        } catch (IOException e) {
+            // Counted through the response status only.
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package com.globallogic.userManagementDemo.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Options starting with {@code --app.} are passed on to the
+ * application under test, for example {@code --app.user-store.engine=log}.
+ */
+final class LoadTestOptions {
+
+    double rate = 200;
+    Map<Endpoint, Double> mix = new LinkedHashMap<>(Map.of(Endpoint.SIGN_UP, 1.0, Endpoint.LOGIN, 9.0));
+    Duration warmUp = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    int users = 1000;
+    boolean poisson = true;
+    Duration timeout = Duration.ofSeconds(10);
+    Path output = Paths.get("build", "reports", "loadtest");
+    Double maxP99Millis;
+    Double maxErrorRate;
+    Map<String, Object> appProperties = new LinkedHashMap<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            if (name.startsWith("app.")) {
+                options.appProperties.put(name.substring(4), value);
+                continue;
+            }
+            switch (name) {
+                case "rate":
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case "mix":
+                    options.mix = parseMix(value);
+                    break;
+                case "warm-up":
+                    options.warmUp = parseDuration(value);
+                    break;
+                case "duration":
+                    options.duration = parseDuration(value);
+                    break;
+                case "users":
+                    options.users = Integer.parseInt(value);
+                    break;
+                case "arrivals":
+                    if (!value.equals("poisson") && !value.equals("uniform")) {
+                        throw new IllegalArgumentException("--arrivals must be poisson or uniform");
+                    }
+                    options.poisson = value.equals("poisson");
+                    break;
+                case "timeout":
+                    options.timeout = parseDuration(value);
+                    break;
+                case "output":
+                    options.output = Paths.get(value);
+                    break;
+                case "max-p99-ms":
+                    options.maxP99Millis = Double.parseDouble(value);
+                    break;
+                case "max-error-rate":
+                    options.maxErrorRate = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return options;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("rate", rate);
+        Map<String, Double> weights = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> weights.put(endpoint.path(), weight));
+        description.put("mix", weights);
+        description.put("arrivals", poisson ? "poisson" : "uniform");
+        description.put("warmUpSeconds", warmUp.toMillis() / 1000.0);
+        description.put("durationSeconds", duration.toMillis() / 1000.0);
+        description.put("users", users);
+        description.put("timeoutSeconds", timeout.toMillis() / 1000.0);
+        description.put("maxP99Ms", maxP99Millis);
+        description.put("maxErrorRate", maxErrorRate);
+        description.put("appProperties", appProperties);
+        return description;
+    }
+
+    // "sign-up=1,login=9"
+    private static Map<Endpoint, Double> parseMix(String value) {
+        Map<Endpoint, Double> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("--mix expects endpoint=weight pairs, e.g. sign-up=1,login=9");
+            }
+            mix.put(Endpoint.of(weight[0].trim()), Double.parseDouble(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    // "90s", "2m" or an ISO-8601 duration.
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,170 @@
+package com.globallogic.userManagementDemo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes {@code loadtest.json}, {@code loadtest.html} and one HdrHistogram percentile distribution
+ * ({@code <endpoint>.hgrm}) per endpoint. Times are in milliseconds.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestOptions options;
+    private final Map<Endpoint, EndpointStats.Snapshot> snapshots = new LinkedHashMap<>();
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+    private final List<String> failures = new ArrayList<>();
+
+    LoadTestReport(LoadTestOptions options, Map<Endpoint, EndpointStats> stats) {
+        this.options = options;
+        stats.forEach((endpoint, endpointStats) -> snapshots.put(endpoint, endpointStats.snapshot()));
+
+        double seconds = options.duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        snapshots.forEach((endpoint, snapshot) -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("scheduled", snapshot.scheduled);
+            result.put("completed", snapshot.total());
+            result.put("ok", snapshot.successes());
+            result.put("errorRate", snapshot.errorRate());
+            result.put("outcomes", snapshot.outcomes);
+            result.put("throughput", snapshot.successes() / seconds);
+            result.put("latencyMs", percentiles(snapshot.latency));
+            result.put("serviceTimeMs", percentiles(snapshot.serviceTime));
+            endpoints.put(endpoint.displayName(), result);
+            check(endpoint, snapshot);
+        });
+
+        summary.put("config", options.describe());
+        summary.put("endpoints", endpoints);
+        summary.put("passed", failures.isEmpty());
+        summary.put("failures", failures);
+    }
+
+    boolean passed() {
+        return failures.isEmpty();
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("loadtest.json").toFile(), summary);
+        Files.writeString(directory.resolve("loadtest.html"), html(), StandardCharsets.UTF_8);
+        for (Map.Entry<Endpoint, EndpointStats.Snapshot> entry : snapshots.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey().displayName() + ".hgrm")), false, "UTF-8")) {
+                entry.getValue().latency.outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+            }
+        }
+        System.out.println("Reports written to " + directory.toAbsolutePath());
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-10s %9s %9s %9s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        double seconds = options.duration.toMillis() / 1000.0;
+        snapshots.forEach((endpoint, snapshot) -> out.printf(Locale.ROOT,
+                "%-10s %9d %9d %9.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint.displayName(), snapshot.scheduled, snapshot.scheduled - snapshot.successes(),
+                snapshot.successes() / seconds,
+                millis(snapshot.latency, 50), millis(snapshot.latency, 99), millis(snapshot.latency, 99.9),
+                snapshot.latency.getMaxValue() / MICROS_PER_MILLI, millis(snapshot.serviceTime, 99)));
+        failures.forEach(failure -> out.println("FAILED: " + failure));
+    }
+
+    private void check(Endpoint endpoint, EndpointStats.Snapshot snapshot) {
+        if (options.maxP99Millis != null && millis(snapshot.latency, 99) > options.maxP99Millis) {
+            failures.add(String.format(Locale.ROOT, "%s p99 %.2f ms is over %.2f ms",
+                    endpoint.displayName(), millis(snapshot.latency, 99), options.maxP99Millis));
+        }
+        if (options.maxErrorRate != null && snapshot.errorRate() > options.maxErrorRate) {
+            failures.add(String.format(Locale.ROOT, "%s error rate %.4f is over %.4f",
+                    endpoint.displayName(), snapshot.errorRate(), options.maxErrorRate));
+        }
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            result.put("p" + label(percentile).replace(".", ""), millis(histogram, percentile));
+        }
+        result.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+        result.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+        return result;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load test</title><style>")
+                .append("body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("td,th{border:1px solid #ccc;padding:.3em .6em;text-align:right}th{background:#eee}")
+                .append("td:first-child{text-align:left}.failed{color:#b00}.passed{color:#070}")
+                .append("</style></head><body>\n<h1>Load test</h1>\n");
+        html.append(failures.isEmpty() ? "<p class=\"passed\">Passed</p>\n" : "<p class=\"failed\">Failed</p>\n<ul>");
+        failures.forEach(failure -> html.append("<li class=\"failed\">").append(escape(failure)).append("</li>"));
+        if (!failures.isEmpty()) {
+            html.append("</ul>\n");
+        }
+
+        html.append("<h2>Configuration</h2>\n<table>");
+        options.describe().forEach((name, value) -> html.append("<tr><td>").append(escape(name))
+                .append("</td><td>").append(escape(String.valueOf(value))).append("</td></tr>"));
+        html.append("</table>\n");
+
+        double seconds = options.duration.toMillis() / 1000.0;
+        html.append("<h2>Results</h2>\n<p>Latency is measured from the time each request was scheduled, service time ")
+                .append("from the time it was sent. All times in milliseconds.</p>\n<table><tr><th>Endpoint</th>")
+                .append("<th>Requests</th><th>OK</th><th>Outcomes</th><th>Throughput (req/s)</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>p").append(label(percentile)).append("</th>");
+        }
+        html.append("<th>Max</th><th>Service p50</th><th>Service p99</th><th>Service p99.9</th></tr>\n");
+        snapshots.forEach((endpoint, snapshot) -> {
+            html.append("<tr><td>").append(endpoint.path()).append("</td><td>").append(snapshot.scheduled)
+                    .append("</td><td>").append(snapshot.successes()).append("</td><td>")
+                    .append(escape(snapshot.outcomes.toString())).append("</td><td>")
+                    .append(format(snapshot.successes() / seconds)).append("</td>");
+            for (double percentile : PERCENTILES) {
+                html.append("<td>").append(format(millis(snapshot.latency, percentile))).append("</td>");
+            }
+            html.append("<td>").append(format(snapshot.latency.getMaxValue() / MICROS_PER_MILLI)).append("</td>");
+            for (double percentile : new double[]{50, 99, 99.9}) {
+                html.append("<td>").append(format(millis(snapshot.serviceTime, percentile))).append("</td>");
+            }
+            html.append("</tr>\n");
+        });
+        html.append("</table>\n<p>Full percentile distributions are in the <code>.hgrm</code> files next to this ")
+                .append("report.</p>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
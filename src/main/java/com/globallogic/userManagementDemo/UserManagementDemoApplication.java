@@ -1,13 +1,24 @@
 package com.globallogic.userManagementDemo;
 
+import com.globallogic.userManagementDemo.startup.StartupProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class UserManagementDemoApplication {
 
+	private static final int STARTUP_STEPS_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(UserManagementDemoApplication.class, args);
+		SpringApplication application = new SpringApplication(UserManagementDemoApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		ConfigurableApplicationContext context = application.run(args);
+		// Training run for the class data sharing archive.
+		if (context.getBean(StartupProperties.class).isExitOnReady()) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,49 @@
+package com.globallogic.userManagementDemo.config;
+
+import com.globallogic.userManagementDemo.datasource.DataSourceRoutingProperties;
+import com.globallogic.userManagementDemo.datasource.ReadWriteRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only transactions to
+ * {@code datasource-routing.replicas} and everything else to {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                        DataSourceRoutingProperties routingProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = routingProperties.getReplicas().stream()
+                .map(replica -> {
+                    DataSourceBuilder<?> builder = dataSourceProperties.initializeDataSourceBuilder().url(replica.getUrl());
+                    if (replica.getUsername() != null) {
+                        builder.username(replica.getUsername());
+                    }
+                    if (replica.getPassword() != null) {
+                        builder.password(replica.getPassword());
+                    }
+                    return builder.build();
+                })
+                .collect(Collectors.toList());
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,73 @@
+package com.globallogic.userManagementDemo.config;
+
+import com.globallogic.userManagementDemo.exception.ErrorLogSampler;
+import com.globallogic.userManagementDemo.security.BoundedPasswordEncoder;
+import com.globallogic.userManagementDemo.user.EmailFilter;
+import com.globallogic.userManagementDemo.user.LoginUpdateBuffer;
+import com.globallogic.userManagementDemo.user.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder emailFilterMetrics(EmailFilter emailFilter) {
+        return registry -> {
+            FunctionCounter.builder("email.filter.skipped.lookups", emailFilter, EmailFilter::getSkippedLookups)
+                    .register(registry);
+            FunctionCounter.builder("email.filter.false.positives", emailFilter, EmailFilter::getFalsePositives)
+                    .register(registry);
+            Gauge.builder("email.filter.insertions", emailFilter, EmailFilter::getInsertions)
+                    .register(registry);
+            Gauge.builder("email.filter.estimated.false.positive.rate", emailFilter, EmailFilter::getEstimatedFalsePositiveRate)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            FunctionCounter.builder("user.cache.requests", userCache, cache -> cache.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("user.cache.requests", userCache, cache -> cache.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("user.cache.evictions", userCache, cache -> cache.stats().evictionCount())
+                    .register(registry);
+            Gauge.builder("user.cache.size", userCache, UserCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginWriteBehindMetrics(LoginUpdateBuffer loginUpdateBuffer) {
+        return registry -> Gauge.builder("login.write.behind.pending", loginUpdateBuffer, LoginUpdateBuffer::getPendingCount)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (!(passwordEncoder instanceof BoundedPasswordEncoder)) {
+                return;
+            }
+            BoundedPasswordEncoder encoder = (BoundedPasswordEncoder) passwordEncoder;
+            Gauge.builder("password.hashing.queued", encoder, BoundedPasswordEncoder::getQueueSize)
+                    .register(registry);
+            Gauge.builder("password.hashing.active", encoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder errorLogMetrics(ErrorLogSampler errorLogSampler) {
+        return registry -> FunctionCounter.builder("api.errors.log.suppressed", errorLogSampler, ErrorLogSampler::getSuppressedCount)
+                .register(registry);
+    }
+}
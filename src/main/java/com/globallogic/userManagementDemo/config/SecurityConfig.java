@@ -1,7 +1,16 @@
 package com.globallogic.userManagementDemo.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.security.BoundedPasswordEncoder;
+import com.globallogic.userManagementDemo.security.PasswordHashingProperties;
+import com.globallogic.userManagementDemo.security.RateLimitFilter;
+import com.globallogic.userManagementDemo.security.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -20,14 +29,30 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authorizeRequests()
-                .antMatchers("/sign-up", "/login", "/h2-console/**").permitAll()
+                .antMatchers("/sign-up", "/sign-up/batch", "/login", "/revoke", "/h2-console/**").permitAll()
+                .antMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
                 .anyRequest().authenticated()
                 .and()
                 .headers().frameOptions().sameOrigin();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties);
+    }
+
+    /**
+     * Registered right after the metrics filter, so shed requests are still measured, and well before the Spring
+     * Security filter chain (order -100).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties rateLimitProperties,
+                                                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimitProperties, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setUrlPatterns(rateLimitProperties.getEndpoints().keySet());
+        return registration;
     }
 }
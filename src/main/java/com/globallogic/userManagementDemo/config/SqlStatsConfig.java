@@ -0,0 +1,36 @@
+package com.globallogic.userManagementDemo.config;
+
+import com.globallogic.userManagementDemo.datasource.SqlStatistics;
+import com.globallogic.userManagementDemo.datasource.SqlStatsDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    /**
+     * Wraps the data source beans in a {@link SqlStatsDataSource}. A routing data source is left alone, since it is
+     * only used through the proxy in front of it and its statements would be counted twice.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatistics> statistics) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof AbstractRoutingDataSource)
+                        && !(bean instanceof SqlStatsDataSource)) {
+                    return new SqlStatsDataSource((DataSource) bean, statistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
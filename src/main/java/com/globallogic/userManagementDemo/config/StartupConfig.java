@@ -0,0 +1,20 @@
+package com.globallogic.userManagementDemo.config;
+
+import com.globallogic.userManagementDemo.security.JwtService;
+import com.globallogic.userManagementDemo.user.UserStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans created at startup even with {@code spring.main.lazy-initialization}: opening the user store (which may
+     * replay its log or connect to shards) and checking the JWT key should fail the start, not the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UserStore.class, JwtService.class);
+    }
+}
@@ -0,0 +1,17 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import org.hibernate.dialect.H2Dialect;
+
+import java.sql.Types;
+
+/**
+ * H2 1.4 has no fixed-length {@code binary} type and reports those columns as {@code varbinary}, so schema validation
+ * of the UUID ids fails with the stock dialect. Declaring them as {@code varbinary} creates the same columns and
+ * lets {@code ddl-auto=validate} accept them.
+ */
+public class H2VarbinaryDialect extends H2Dialect {
+
+    public H2VarbinaryDialect() {
+        registerColumnType(Types.BINARY, "varbinary");
+    }
+}
@@ -0,0 +1,42 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers recently written keys (user ids and emails) for {@code read-your-writes-window}, and sends reads of those
+ * keys to the primary so a client never misses its own write because a replica is lagging. Does nothing unless
+ * routing is enabled.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Cache<Object, Boolean> recentWrites;
+
+    @Autowired
+    public ReadYourWrites(DataSourceRoutingProperties properties) {
+        this.recentWrites = properties.isEnabled() && !properties.getReplicas().isEmpty()
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(properties.getReadYourWritesWindow())
+                        .maximumSize(properties.getReadYourWritesMaxKeys())
+                        .build()
+                : null;
+    }
+
+    public void recordWrite(Object key) {
+        if (recentWrites != null) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    public <T> T read(Object key, Supplier<T> read) {
+        if (recentWrites != null && recentWrites.getIfPresent(key) != null) {
+            return ReadWriteRoutingDataSource.onPrimary(read);
+        }
+        return read.get();
+    }
+}
@@ -0,0 +1,246 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import com.globallogic.userManagementDemo.logging.RateLimitedLog;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory statistics of the statements run through {@link SqlStatsDataSource}, grouped by shape: the SQL with
+ * literals replaced by {@code ?} and {@code in} lists collapsed, so the same query with different values or list
+ * sizes is counted once. Each shape keeps its execution and error counts, rows affected, total time and a latency
+ * histogram. At most {@code max-statements} shapes are kept; further ones are counted together under
+ * {@value #OTHER}. Statements slower than {@code slow-threshold} are also logged at WARN on a background thread, at most
+ * {@code slow-log-max-per-second} per second; the ones over the limit are counted in the next message.
+ */
+@Slf4j
+@Component
+public class SqlStatistics {
+
+    static final String OTHER = "(other statements)";
+    static final List<String> SORTS = List.of("total", "count", "mean", "p99", "max", "rows", "errors");
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin ?\\(\\?(?: ?, ?\\?)*\\)");
+
+    private final int maxStatements;
+    private final long slowThresholdNanos;
+    private final RateLimitedLog slowLog;
+    // The SQL strings a driver sees repeat (Hibernate reuses them), so shapes are looked up by the string as given.
+    private final Map<String, StatementStats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> byShape = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SqlStatistics(SqlStatsProperties properties) {
+        this.maxStatements = properties.getMaxStatements();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.slowLog = new RateLimitedLog("slow-sql-log", properties.getSlowLogMaxPerSecond(),
+                properties.getSlowLogQueueCapacity());
+    }
+
+    public void record(String sql, long nanos, long rows, boolean failed) {
+        StatementStats stats = stats(sql == null ? OTHER : sql);
+        stats.record(nanos, rows, failed);
+        if (nanos >= slowThresholdNanos) {
+            slowLog.log(skipped -> log.warn("Slow SQL statement ({} ms, {} rows affected{}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), rows,
+                    skipped > 0 ? ", " + skipped + " more slow statements were not logged" : "", stats.sql));
+        }
+    }
+
+    /**
+     * Returns the {@code limit} shapes with the highest {@code sort} value, one of {@code total} (time),
+     * {@code count}, {@code mean}, {@code p99}, {@code max}, {@code rows} or {@code errors}.
+     */
+    public List<Map<String, Object>> top(int limit, String sort) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        Comparator<StatementStats.Snapshot> order = comparator(sort);
+        return byShape.values().stream()
+                .map(StatementStats::snapshot)
+                .sorted(order.reversed())
+                .limit(limit)
+                .map(StatementStats.Snapshot::toMap)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return byShape.size();
+    }
+
+    public void reset() {
+        bySql.clear();
+        byShape.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        slowLog.shutdown();
+    }
+
+    static boolean isSort(String sort) {
+        return SORTS.contains(sort);
+    }
+
+    static String shape(String sql) {
+        StringBuilder shape = new StringBuilder(sql.length());
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                while (i + 1 < length && Character.isWhitespace(sql.charAt(i + 1))) {
+                    i++;
+                }
+                if (shape.length() > 0) {
+                    shape.append(' ');
+                }
+            } else if (c == '\'') {
+                i++;
+                while (i < length && (sql.charAt(i) != '\'' || i + 1 < length && sql.charAt(i + 1) == '\'')) {
+                    // A quote inside a literal is written twice.
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                shape.append('?');
+            } else if (Character.isDigit(c) && (shape.length() == 0 || !isIdentifierPart(shape.charAt(shape.length() - 1)))) {
+                while (i + 1 < length && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                shape.append('?');
+            } else {
+                shape.append(c);
+            }
+        }
+        int end = shape.length();
+        while (end > 0 && shape.charAt(end - 1) == ' ') {
+            end--;
+        }
+        shape.setLength(end);
+        return IN_LIST.matcher(shape).replaceAll("in (?...)");
+    }
+
+    private StatementStats stats(String sql) {
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String shape = shape(sql);
+        stats = byShape.get(shape);
+        if (stats == null) {
+            stats = byShape.size() < maxStatements
+                    ? byShape.computeIfAbsent(shape, StatementStats::new)
+                    : byShape.computeIfAbsent(OTHER, StatementStats::new);
+        }
+        if (bySql.size() < maxStatements * 4) {
+            bySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static Comparator<StatementStats.Snapshot> comparator(String sort) {
+        switch (sort == null ? "total" : sort) {
+            case "total":
+                return Comparator.comparingLong(snapshot -> snapshot.totalNanos);
+            case "count":
+                return Comparator.comparingLong(snapshot -> snapshot.executions);
+            case "mean":
+                return Comparator.comparingDouble(StatementStats.Snapshot::meanNanos);
+            case "p99":
+                return Comparator.comparingLong(snapshot -> snapshot.latency.getValueAtPercentile(99));
+            case "max":
+                return Comparator.comparingLong(snapshot -> snapshot.latency.getMaxValue());
+            case "rows":
+                return Comparator.comparingLong(snapshot -> snapshot.rows);
+            case "errors":
+                return Comparator.comparingLong(snapshot -> snapshot.errors);
+            default:
+                throw new IllegalArgumentException("Unknown sort " + sort + "; expected one of " + String.join(", ", SORTS));
+        }
+    }
+
+    static final class StatementStats {
+
+        final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        // One significant digit (about 6% precision) keeps a histogram under 3 KB.
+        private final AtomicHistogram latencyMicros = new AtomicHistogram(1, MAX_MICROS, 1);
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long nanos, long rowsAffected, boolean failed) {
+            executions.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rowsAffected > 0) {
+                rows.add(rowsAffected);
+            }
+            totalNanos.add(nanos);
+            latencyMicros.recordValue(Math.max(1, Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(sql, executions.sum(), errors.sum(), rows.sum(), totalNanos.sum(), latencyMicros.copy());
+        }
+
+        static final class Snapshot {
+
+            final String sql;
+            final long executions;
+            final long errors;
+            final long rows;
+            final long totalNanos;
+            final Histogram latency;
+
+            Snapshot(String sql, long executions, long errors, long rows, long totalNanos, Histogram latency) {
+                this.sql = sql;
+                this.executions = executions;
+                this.errors = errors;
+                this.rows = rows;
+                this.totalNanos = totalNanos;
+                this.latency = latency;
+            }
+
+            double meanNanos() {
+                return executions == 0 ? 0 : (double) totalNanos / executions;
+            }
+
+            Map<String, Object> toMap() {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("sql", sql);
+                map.put("executions", executions);
+                map.put("errors", errors);
+                map.put("rowsAffected", rows);
+                map.put("totalMs", totalNanos / 1e6);
+                map.put("meanMs", meanNanos() / 1e6);
+                map.put("p50Ms", latency.getValueAtPercentile(50) / 1e3);
+                map.put("p95Ms", latency.getValueAtPercentile(95) / 1e3);
+                map.put("p99Ms", latency.getValueAtPercentile(99) / 1e3);
+                map.put("maxMs", latency.getMaxValue() / 1e3);
+                return map;
+            }
+        }
+    }
+}
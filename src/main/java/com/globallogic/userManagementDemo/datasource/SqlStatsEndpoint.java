@@ -0,0 +1,59 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import com.globallogic.userManagementDemo.exception.ApiErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/sqlstats?limit=20&sort=total} lists the statement shapes that cost the most, and
+ * {@code DELETE /actuator/sqlstats} clears the statistics. Invalid parameters are answered with a 400 in the same format
+ * as the API's errors.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatistics statistics;
+
+    @Autowired
+    public SqlStatsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Object> top(@Nullable Integer limit, @Nullable String sort) {
+        String order = sort == null ? "total" : sort;
+        if (!SqlStatistics.isSort(order)) {
+            return badRequest("Unknown sort '" + order + "'; expected one of " + String.join(", ", SqlStatistics.SORTS) + ".");
+        }
+        if (limit != null && limit < 0) {
+            return badRequest("limit must not be negative.");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", statistics.size());
+        result.put("sort", order);
+        result.put("top", statistics.top(limit == null ? DEFAULT_LIMIT : limit, order));
+        return new WebEndpointResponse<>(result);
+    }
+
+    private static WebEndpointResponse<Object> badRequest(String detail) {
+        return new WebEndpointResponse<>(new ApiErrorResponse(LocalDateTime.now(), WebEndpointResponse.STATUS_BAD_REQUEST,
+                detail), WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
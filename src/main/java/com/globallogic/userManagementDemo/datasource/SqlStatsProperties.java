@@ -0,0 +1,18 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "sql-stats")
+public class SqlStatsProperties {
+    private boolean enabled = true;
+    private int maxStatements = 1000;
+    private Duration slowThreshold = Duration.ofMillis(100);
+    private int slowLogMaxPerSecond = 5;
+    private int slowLogQueueCapacity = 64;
+}
@@ -0,0 +1,11 @@
+package com.globallogic.userManagementDemo.exception;
+
+/**
+ * Base class for expected business errors that are answered with a 4xx or 503 and never logged with a stack trace.
+ * Stack traces and suppression are disabled, so throwing one costs about as much as allocating the message.
+ */
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
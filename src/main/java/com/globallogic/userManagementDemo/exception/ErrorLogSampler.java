@@ -0,0 +1,45 @@
+package com.globallogic.userManagementDemo.exception;
+
+import com.globallogic.userManagementDemo.logging.RateLimitedLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Logs unexpected errors with their stack traces on a background thread, at most {@code max-per-second} per second.
+ * Errors over the limit, or arriving while {@code queue-capacity} entries are already waiting, are only counted and
+ * reported with the next error that does get logged, so a burst of failures cannot turn into a burst of logging.
+ */
+@Slf4j
+@Component
+public class ErrorLogSampler {
+
+    private final RateLimitedLog rateLimitedLog;
+
+    @Autowired
+    public ErrorLogSampler(ErrorLoggingProperties properties) {
+        this.rateLimitedLog = new RateLimitedLog("error-log", properties.getMaxPerSecond(),
+                properties.getQueueCapacity());
+    }
+
+    public void log(String detail, Throwable error) {
+        rateLimitedLog.log(skipped -> {
+            if (skipped > 0) {
+                log.error("{} ({} similar errors were not logged)", detail, skipped, error);
+            } else {
+                log.error(detail, error);
+            }
+        });
+    }
+
+    public long getSuppressedCount() {
+        return rateLimitedLog.getSuppressedCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rateLimitedLog.shutdown();
+    }
+}
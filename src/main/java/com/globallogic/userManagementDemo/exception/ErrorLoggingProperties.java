@@ -0,0 +1,13 @@
+package com.globallogic.userManagementDemo.exception;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "error-logging")
+public class ErrorLoggingProperties {
+    private int maxPerSecond = 10;
+    private int queueCapacity = 256;
+}
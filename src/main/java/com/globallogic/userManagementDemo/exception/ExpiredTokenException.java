@@ -0,0 +1,7 @@
+package com.globallogic.userManagementDemo.exception;
+
+public class ExpiredTokenException extends DomainException {
+    public ExpiredTokenException(String message) {
+        super(message);
+    }
+}
@@ -5,6 +5,10 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,17 +21,43 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Maps exceptions to {@link ApiErrorResponse}s. Every error is counted in {@code api.errors}, tagged by status and
+ * exception type. Expected errors are not logged beyond DEBUG; only unexpected ones are logged with their stack
+ * trace, through the rate-limited {@link ErrorLogSampler}.
+ */
+@Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogSampler errorLogSampler;
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry, ErrorLogSampler errorLogSampler) {
+        this.meterRegistry = meterRegistry;
+        this.errorLogSampler = errorLogSampler;
+    }
+
     private ResponseEntity<Object> createErrorResponse(HttpStatus httpStatus, String detail, Exception ex) {
-        if (ex != null) {
-            ex.printStackTrace();
+        return createErrorResponse(httpStatus, detail, ex, null);
+    }
+
+    private ResponseEntity<Object> createErrorResponse(HttpStatus httpStatus, String detail, Exception ex, HttpHeaders headers) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder("api.errors")
+                .tag("status", String.valueOf(httpStatus.value()))
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry)).increment();
+        if (log.isDebugEnabled()) {
+            log.debug("{} {}: {}", httpStatus.value(), ex.getClass().getSimpleName(), detail);
         }
         ApiErrorResponse apiErrorResponse = new ApiErrorResponse(LocalDateTime.now(), httpStatus.value(), detail);
-        return new ResponseEntity<>(apiErrorResponse, httpStatus);
+        return new ResponseEntity<>(apiErrorResponse, headers, httpStatus);
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
@@ -51,11 +81,33 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return createErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<Object> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex, WebRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex, headers);
+    }
+
     @ExceptionHandler(ExpiredJwtException.class)
     public ResponseEntity<Object> handleExpiredJwtException(ExpiredJwtException ex, WebRequest request) {
         return createErrorResponse(HttpStatus.UNAUTHORIZED, "Authentication Error: JWT token has expired.", ex);
     }
 
+    @ExceptionHandler(ExpiredTokenException.class)
+    public ResponseEntity<Object> handleExpiredTokenException(ExpiredTokenException ex, WebRequest request) {
+        return createErrorResponse(HttpStatus.UNAUTHORIZED, "Authentication Error: JWT token has expired.", ex);
+    }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Object> handleInvalidTokenException(InvalidTokenException ex, WebRequest request) {
+        return createErrorResponse(HttpStatus.BAD_REQUEST, "Authentication Error: Invalid JWT token.", ex);
+    }
+
+    @ExceptionHandler(TokenRevokedException.class)
+    public ResponseEntity<Object> handleTokenRevokedException(TokenRevokedException ex, WebRequest request) {
+        return createErrorResponse(HttpStatus.UNAUTHORIZED, "Authentication Error: " + ex.getMessage(), ex);
+    }
+
     @ExceptionHandler({UnsupportedJwtException.class, MalformedJwtException.class, SignatureException.class, IllegalArgumentException.class})
     public ResponseEntity<Object> handleInvalidJwtException(RuntimeException ex, WebRequest request) {
         return createErrorResponse(HttpStatus.BAD_REQUEST, "Authentication Error: Invalid JWT token.", ex);
@@ -93,6 +145,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleUnhandledException(Exception ex, WebRequest request) {
+        errorLogSampler.log("Unexpected error handling " + request.getDescription(false), ex);
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred: " + ex.getMessage(), ex);
     }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.globallogic.userManagementDemo.exception;
 
-public class InvalidEmailException extends RuntimeException {
+public class InvalidEmailException extends DomainException {
     public InvalidEmailException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.globallogic.userManagementDemo.exception;
 
-public class InvalidPasswordException extends RuntimeException {
+public class InvalidPasswordException extends DomainException {
     public InvalidPasswordException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.globallogic.userManagementDemo.exception;
+
+public class InvalidTokenException extends DomainException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
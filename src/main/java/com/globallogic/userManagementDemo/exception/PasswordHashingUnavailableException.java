@@ -0,0 +1,15 @@
+package com.globallogic.userManagementDemo.exception;
+
+public class PasswordHashingUnavailableException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.globallogic.userManagementDemo.exception;
+
+public class TokenRevokedException extends DomainException {
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+}
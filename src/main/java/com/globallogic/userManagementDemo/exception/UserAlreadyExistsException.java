@@ -1,6 +1,6 @@
 package com.globallogic.userManagementDemo.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends DomainException {
     public UserAlreadyExistsException(String message) {
         super(message);
     }
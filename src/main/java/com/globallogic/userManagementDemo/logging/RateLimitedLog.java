@@ -0,0 +1,75 @@
+package com.globallogic.userManagementDemo.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes log entries on a single background thread, at most {@code maxPerSecond} per second. Entries over the limit,
+ * or arriving while {@code queueCapacity} entries are already waiting, are only counted; the next entry that is
+ * written receives that count, so a burst of events cannot turn into a burst of logging on the calling threads.
+ */
+public class RateLimitedLog {
+
+    private final int maxPerSecond;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder totalSuppressed = new LongAdder();
+
+    public RateLimitedLog(String threadName, int maxPerSecond, int queueCapacity) {
+        this.maxPerSecond = maxPerSecond;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues {@code entry}, which is called with the number of entries suppressed since the previous one was written,
+     * or counts it as suppressed.
+     */
+    public void log(LongConsumer entry) {
+        if (!tryAcquire()) {
+            suppress(1);
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        try {
+            executor.execute(() -> entry.accept(skipped));
+        } catch (RejectedExecutionException e) {
+            suppressed.add(skipped);
+            suppress(1);
+        }
+    }
+
+    public long getSuppressedCount() {
+        return totalSuppressed.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void suppress(long count) {
+        suppressed.add(count);
+        totalSuppressed.add(count);
+    }
+
+    private boolean tryAcquire() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            loggedThisSecond.set(0);
+        }
+        return loggedThisSecond.incrementAndGet() <= maxPerSecond;
+    }
+}
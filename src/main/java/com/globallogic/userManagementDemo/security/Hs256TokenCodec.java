@@ -0,0 +1,453 @@
+package com.globallogic.userManagementDemo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.lang.Strings;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Specialized codec for the {@code sub}/{@code iat}/{@code exp} tokens this service issues. It writes the JSON
+ * payload and its Base64URL form straight into per-thread buffers and reuses a per-thread {@link Mac}, producing
+ * the same bytes as the jjwt builder. Tokens that do not have exactly that shape are handed to the jjwt codec.
+ */
+class Hs256TokenCodec implements TokenCodec {
+
+    private static final String HMAC_SHA_256 = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int ENCODED_SIGNATURE_LENGTH = 43;
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64URL_REVERSE = new byte[128];
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUB_PREFIX = "{\"sub\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GEN_PREFIX = "\",\"gen\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IAT_PREFIX = "\",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GENERATION_IAT_PREFIX = ",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP_PREFIX = ",\"exp\":".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(BASE64URL_REVERSE, (byte) -1);
+        for (int i = 0; i < BASE64URL.length; i++) {
+            BASE64URL_REVERSE[BASE64URL[i]] = (byte) i;
+        }
+    }
+
+    private final TokenCodec fallback;
+    private final ThreadLocal<Buffers> buffers;
+
+    Hs256TokenCodec(Key secretKey, TokenCodec fallback) {
+        SecretKeySpec macKey = new SecretKeySpec(secretKey.getEncoded(), HMAC_SHA_256);
+        this.fallback = fallback;
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(macKey));
+    }
+
+    @Override
+    public String encode(String subject, long issuedAtSeconds, long expirationSeconds) {
+        if (!Strings.hasText(subject)) {
+            return fallback.encode(subject, issuedAtSeconds, expirationSeconds);
+        }
+        return encode(subject, -1, issuedAtSeconds, expirationSeconds);
+    }
+
+    /**
+     * Signs {@code {"sub":...,"gen":...,"iat":...,"exp":...}} directly when the only extra claim is the token
+     * generation; any other claims go through jjwt.
+     */
+    @Override
+    public String encode(String subject, long issuedAtSeconds, long expirationSeconds, Map<String, ?> claims) {
+        if (claims.isEmpty()) {
+            return encode(subject, issuedAtSeconds, expirationSeconds);
+        }
+        Object generation = claims.size() == 1 ? claims.get(JwtService.GENERATION_CLAIM) : null;
+        if (generation instanceof Integer && (Integer) generation >= 0 && Strings.hasText(subject)) {
+            return encode(subject, (Integer) generation, issuedAtSeconds, expirationSeconds);
+        }
+        return fallback.encode(subject, issuedAtSeconds, expirationSeconds, claims);
+    }
+
+    private String encode(String subject, long generation, long issuedAtSeconds, long expirationSeconds) {
+        Buffers buffers = this.buffers.get();
+        byte[] json = buffers.json(6 * subject.length() + 96);
+        int jsonLength = writePayload(json, subject, generation, issuedAtSeconds, expirationSeconds);
+
+        byte[] token = buffers.token(HEADER_BYTES.length + 2 + (jsonLength + 2) / 3 * 4 + ENCODED_SIGNATURE_LENGTH);
+        System.arraycopy(HEADER_BYTES, 0, token, 0, HEADER_BYTES.length);
+        int position = HEADER_BYTES.length;
+        token[position++] = '.';
+        position = encodeBase64Url(json, jsonLength, token, position);
+
+        buffers.sign(token, position);
+        token[position++] = '.';
+        position = encodeBase64Url(buffers.signature, SIGNATURE_LENGTH, token, position);
+        return new String(token, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public Claims decode(String token) {
+        if (token == null || !token.startsWith(HEADER) || token.length() <= HEADER.length()
+                || token.charAt(HEADER.length()) != '.') {
+            return fallback.decode(token);
+        }
+        int signatureStart = token.lastIndexOf('.') + 1;
+        int signingInputLength = signatureStart - 1;
+        if (signingInputLength == HEADER.length()
+                || token.length() - signatureStart != ENCODED_SIGNATURE_LENGTH) {
+            return fallback.decode(token);
+        }
+
+        Buffers buffers = this.buffers.get();
+        byte[] signingInput = buffers.token(signingInputLength);
+        for (int i = 0; i < signingInputLength; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return fallback.decode(token);
+            }
+            signingInput[i] = (byte) c;
+        }
+        if (decodeBase64Url(token, signatureStart, token.length(), buffers.receivedSignature, 0) != SIGNATURE_LENGTH) {
+            return fallback.decode(token);
+        }
+        buffers.sign(signingInput, signingInputLength);
+        if (!MessageDigest.isEqual(buffers.signature, buffers.receivedSignature)) {
+            throw new SignatureException("JWT signature does not match locally computed signature. " +
+                    "JWT validity cannot be asserted and should not be trusted.");
+        }
+
+        int payloadStart = HEADER.length() + 1;
+        byte[] json = buffers.json((signingInputLength - payloadStart) / 4 * 3 + 3);
+        int jsonLength = decodeBase64Url(token, payloadStart, signingInputLength, json, 0);
+        Claims claims = jsonLength < 0 ? null : parsePayload(json, jsonLength);
+        if (claims == null) {
+            return fallback.decode(token);
+        }
+
+        Date expiration = claims.getExpiration();
+        long now = System.currentTimeMillis();
+        if (expiration != null && now > expiration.getTime()) {
+            throw new ExpiredJwtException(Jwts.jwsHeader().setAlgorithm("HS256"), claims,
+                    "JWT expired at " + Instant.ofEpochMilli(expiration.getTime()) + ". Current time: "
+                            + Instant.ofEpochMilli(now) + ", a difference of " + (now - expiration.getTime())
+                            + " milliseconds.  Allowed clock skew: 0 milliseconds.");
+        }
+        return claims;
+    }
+
+    private static int writePayload(byte[] json, String subject, long generation, long issuedAtSeconds,
+                                    long expirationSeconds) {
+        int position = write(SUB_PREFIX, json, 0);
+        position = writeEscaped(subject, json, position);
+        if (generation >= 0) {
+            position = write(GEN_PREFIX, json, position);
+            position = writeLong(generation, json, position);
+            position = write(GENERATION_IAT_PREFIX, json, position);
+        } else {
+            position = write(IAT_PREFIX, json, position);
+        }
+        position = writeLong(issuedAtSeconds, json, position);
+        position = write(EXP_PREFIX, json, position);
+        position = writeLong(expirationSeconds, json, position);
+        json[position++] = '}';
+        return position;
+    }
+
+    private static int write(byte[] source, byte[] target, int position) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    /**
+     * Escapes the same way Jackson's default UTF-8 generator does, which is what jjwt uses to serialize claims.
+     */
+    private static int writeEscaped(String value, byte[] target, int position) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                target[position++] = '\\';
+                target[position++] = (byte) c;
+            } else if (c < 0x20) {
+                target[position++] = '\\';
+                switch (c) {
+                    case '\b': target[position++] = 'b'; break;
+                    case '\f': target[position++] = 'f'; break;
+                    case '\n': target[position++] = 'n'; break;
+                    case '\r': target[position++] = 'r'; break;
+                    case '\t': target[position++] = 't'; break;
+                    default:
+                        target[position++] = 'u';
+                        target[position++] = '0';
+                        target[position++] = '0';
+                        target[position++] = HEX[c >> 4];
+                        target[position++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x80) {
+                target[position++] = (byte) c;
+            } else if (c < 0x800) {
+                target[position++] = (byte) (0xC0 | (c >> 6));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                target[position++] = '\\';
+                target[position++] = 'u';
+                target[position++] = HEX[c >> 12];
+                target[position++] = HEX[(c >> 8) & 0xF];
+                target[position++] = HEX[(c >> 4) & 0xF];
+                target[position++] = HEX[c & 0xF];
+            } else {
+                target[position++] = (byte) (0xE0 | (c >> 12));
+                target[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private static int writeLong(long value, byte[] target, int position) {
+        if (value < 0) {
+            target[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    private static int encodeBase64Url(byte[] source, int length, byte[] target, int position) {
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+            target[position++] = BASE64URL[bits >>> 18];
+            target[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+            target[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+            target[position++] = BASE64URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (source[i] & 0xFF) << 16;
+            target[position++] = BASE64URL[bits >>> 18];
+            target[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8;
+            target[position++] = BASE64URL[bits >>> 18];
+            target[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+            target[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+        }
+        return position;
+    }
+
+    /**
+     * Decodes unpadded Base64URL, returning the number of bytes written or {@code -1} if the input is not valid.
+     */
+    private static int decodeBase64Url(String source, int start, int end, byte[] target, int position) {
+        if ((end - start) % 4 == 1) {
+            return -1;
+        }
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64URL_REVERSE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (position + written == target.length) {
+                    return -1;
+                }
+                target[position + written++] = (byte) (bits >>> bitCount);
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Parses a flat JSON object containing only {@code sub}, {@code gen}, {@code iat} and {@code exp}. Returns
+     * {@code null} for anything else so the caller can defer to jjwt.
+     */
+    private static Claims parsePayload(byte[] json, int length) {
+        String subject = null;
+        long generation = -1;
+        long issuedAt = -1;
+        long expiration = -1;
+
+        int position = skipWhitespace(json, 0, length);
+        if (position >= length || json[position++] != '{') {
+            return null;
+        }
+        position = skipWhitespace(json, position, length);
+        if (position < length && json[position] == '}') {
+            return null;
+        }
+        while (true) {
+            if (position >= length || json[position++] != '"') {
+                return null;
+            }
+            int keyStart = position;
+            while (position < length && json[position] != '"' && json[position] != '\\') {
+                position++;
+            }
+            if (position >= length || json[position] != '"') {
+                return null;
+            }
+            int keyEnd = position++;
+            position = skipWhitespace(json, position, length);
+            if (position >= length || json[position++] != ':') {
+                return null;
+            }
+            position = skipWhitespace(json, position, length);
+
+            if (isKey(json, keyStart, keyEnd, 's', 'u', 'b') && subject == null) {
+                if (position >= length || json[position++] != '"') {
+                    return null;
+                }
+                int valueStart = position;
+                while (position < length && json[position] != '"') {
+                    if (json[position] == '\\' || json[position] < 0x20) {
+                        return null;
+                    }
+                    position++;
+                }
+                if (position >= length) {
+                    return null;
+                }
+                subject = new String(json, valueStart, position - valueStart, StandardCharsets.UTF_8);
+                position++;
+            } else if ((isKey(json, keyStart, keyEnd, 'i', 'a', 't') && issuedAt < 0)
+                    || (isKey(json, keyStart, keyEnd, 'e', 'x', 'p') && expiration < 0)
+                    || (isKey(json, keyStart, keyEnd, 'g', 'e', 'n') && generation < 0)) {
+                int valueStart = position;
+                long value = 0;
+                while (position < length && json[position] >= '0' && json[position] <= '9') {
+                    if (position - valueStart == 18) {
+                        return null;
+                    }
+                    value = value * 10 + (json[position++] - '0');
+                }
+                if (position == valueStart) {
+                    return null;
+                }
+                if (json[keyStart] == 'i') {
+                    issuedAt = value;
+                } else if (json[keyStart] == 'e') {
+                    expiration = value;
+                } else if (value <= Integer.MAX_VALUE) {
+                    generation = value;
+                } else {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+
+            position = skipWhitespace(json, position, length);
+            if (position >= length) {
+                return null;
+            }
+            byte next = json[position++];
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                return null;
+            }
+            position = skipWhitespace(json, position, length);
+        }
+        if (skipWhitespace(json, position, length) != length) {
+            return null;
+        }
+
+        Claims claims = Jwts.claims();
+        if (subject != null) {
+            claims.setSubject(subject);
+        }
+        if (generation >= 0) {
+            claims.put(JwtService.GENERATION_CLAIM, (int) generation);
+        }
+        if (issuedAt >= 0) {
+            claims.setIssuedAt(new Date(issuedAt * 1000));
+        }
+        if (expiration >= 0) {
+            claims.setExpiration(new Date(expiration * 1000));
+        }
+        return claims;
+    }
+
+    private static boolean isKey(byte[] json, int start, int end, char a, char b, char c) {
+        return end - start == 3 && json[start] == a && json[start + 1] == b && json[start + 2] == c;
+    }
+
+    private static int skipWhitespace(byte[] json, int position, int length) {
+        while (position < length && (json[position] == ' ' || json[position] == '\t'
+                || json[position] == '\n' || json[position] == '\r')) {
+            position++;
+        }
+        return position;
+    }
+
+    private static final class Buffers {
+
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private final byte[] receivedSignature = new byte[SIGNATURE_LENGTH];
+        private byte[] json = new byte[256];
+        private byte[] token = new byte[512];
+
+        private Buffers(SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance(HMAC_SHA_256);
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+
+        private byte[] json(int capacity) {
+            if (json.length < capacity) {
+                json = new byte[capacity];
+            }
+            return json;
+        }
+
+        private byte[] token(int capacity) {
+            if (token.length < capacity) {
+                token = new byte[capacity];
+            }
+            return token;
+        }
+
+        private void sign(byte[] input, int length) {
+            mac.update(input, 0, length);
+            try {
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
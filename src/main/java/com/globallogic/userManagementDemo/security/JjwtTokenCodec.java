@@ -0,0 +1,50 @@
+package com.globallogic.userManagementDemo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class JjwtTokenCodec implements TokenCodec {
+
+    private final Key secretKey;
+    private final JwtParser jwtParser;
+
+    JjwtTokenCodec(Key secretKey) {
+        this.secretKey = secretKey;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+    }
+
+    @Override
+    public String encode(String subject, long issuedAtSeconds, long expirationSeconds) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date(issuedAtSeconds * 1000))
+                .setExpiration(new Date(expirationSeconds * 1000))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Override
+    public String encode(String subject, long issuedAtSeconds, long expirationSeconds, Map<String, ?> claims) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .addClaims(new LinkedHashMap<>(claims))
+                .setIssuedAt(new Date(issuedAtSeconds * 1000))
+                .setExpiration(new Date(expirationSeconds * 1000))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Override
+    public Claims decode(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+}
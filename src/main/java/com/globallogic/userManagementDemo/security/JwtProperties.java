@@ -10,4 +10,11 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private long expirationMinutes;
+    private long cacheMaxSize = 10_000;
+    private Engine engine = Engine.JJWT;
+
+    public enum Engine {
+        JJWT,
+        HS256
+    }
 }
@@ -1,49 +1,91 @@
 package com.globallogic.userManagementDemo.security;
 
+import com.globallogic.userManagementDemo.exception.ExpiredTokenException;
+import com.globallogic.userManagementDemo.exception.InvalidTokenException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    private final Key secretKey;
-    private final long expirationMinutes;
+    public static final String GENERATION_CLAIM = "gen";
+
+    private final long expirationMillis;
+    private final TokenCodec tokenCodec;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Timer signTimer;
+    private final Timer verifySuccessTimer;
+    private final Timer verifyExpiredTimer;
+    private final Timer verifyInvalidTimer;
 
     @Autowired
-    public JwtService(JwtProperties jwtProperties) {
-        this.secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
-        this.expirationMinutes = jwtProperties.getExpirationMinutes();
+    public JwtService(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        Key secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.expirationMillis = TimeUnit.MINUTES.toMillis(jwtProperties.getExpirationMinutes());
+        TokenCodec jjwtTokenCodec = new JjwtTokenCodec(secretKey);
+        this.tokenCodec = jwtProperties.getEngine() == JwtProperties.Engine.HS256
+                ? new Hs256TokenCodec(secretKey, jjwtTokenCodec)
+                : jjwtTokenCodec;
+        this.verifiedTokenCache = jwtProperties.getCacheMaxSize() > 0
+                ? new VerifiedTokenCache(jwtProperties.getCacheMaxSize())
+                : null;
+        this.signTimer = timer(meterRegistry, "jwt.sign", "success");
+        this.verifySuccessTimer = timer(meterRegistry, "jwt.verify", "success");
+        this.verifyExpiredTimer = timer(meterRegistry, "jwt.verify", "expired_token");
+        this.verifyInvalidTimer = timer(meterRegistry, "jwt.verify", "bad_token");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .register(meterRegistry);
     }
 
     public String generateToken(String subject) {
-        Map<String, Object> claims = new HashMap<>();
-        Instant now = Instant.now();
-        Date issuedAt = Date.from(now);
-        Date expiration = Date.from(now.plus(expirationMinutes, ChronoUnit.MINUTES));
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(issuedAt)
-                .setExpiration(expiration)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        String token = tokenCodec.encode(subject, now / 1000, (now + expirationMillis) / 1000);
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    public String generateToken(String subject, int generation) {
+        return generateToken(subject, Collections.singletonMap(GENERATION_CLAIM, generation));
+    }
+
+    public String generateToken(String subject, Map<String, ?> claims) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        String token = tokenCodec.encode(subject, now / 1000, (now + expirationMillis) / 1000, claims);
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    /**
+     * Signs a token and verifies it straight through the codec, without the {@code jwt.*} timers or the verified
+     * token cache, so synthetic tokens leave no trace. Used by the warm-up.
+     */
+    public Claims warmUp(String subject, int generation) {
+        long now = System.currentTimeMillis();
+        String token = tokenCodec.encode(subject, now / 1000, (now + expirationMillis) / 1000,
+                Collections.singletonMap(GENERATION_CLAIM, generation));
+        return tokenCodec.decode(token);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -51,21 +93,36 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public Claims extractClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     public String extractSubject(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     private Claims extractAllClaims(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = verifiedTokenCache != null && token != null
+                    ? verifiedTokenCache.get(token, this::parseClaims)
+                    : parseClaims(token);
+            verifySuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            Timer timer = e instanceof ExpiredTokenException ? verifyExpiredTimer : verifyInvalidTimer;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return tokenCodec.decode(token);
         } catch (ExpiredJwtException e) {
-            throw new RuntimeException("JWT token has expired", e);
+            throw new ExpiredTokenException("JWT token has expired");
         } catch (UnsupportedJwtException | MalformedJwtException | SignatureException | IllegalArgumentException e) {
-            throw new RuntimeException("Invalid JWT token: " + e.getMessage(), e);
+            throw new InvalidTokenException("Invalid JWT token: " + e.getMessage());
         }
     }
 
@@ -79,8 +136,8 @@ public class JwtService {
 
     public Boolean validateToken(String token, String expectedSubject) {
         try {
-            final String subject = extractSubject(token);
-            return (subject.equals(expectedSubject) && !isTokenExpired(token));
+            final Claims claims = extractAllClaims(token);
+            return (claims.getSubject().equals(expectedSubject) && !claims.getExpiration().before(new Date()));
         } catch (RuntimeException e) {
             return false;
         }
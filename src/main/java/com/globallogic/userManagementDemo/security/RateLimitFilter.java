@@ -0,0 +1,91 @@
+package com.globallogic.userManagementDemo.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.exception.ApiErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds requests to the endpoints in {@code rate-limit.endpoints} once a client has used up its {@link RateLimiter}
+ * bucket. It runs ahead of Spring Security and of anything that reads the request body, and answers
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header. Clients are keyed by IP, or by API key for the keys
+ * listed in {@code rate-limit.api-keys}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+    private final boolean keyByApiKey;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        properties.getEndpoints().forEach((path, limit) -> endpoints.put(path, new Endpoint(
+                new RateLimiter(limit.getCapacity(), limit.getRefillPerSecond(), properties.getMaxClients(),
+                        properties.getIdleTimeout()),
+                Counter.builder("rate.limit.rejected").tag("endpoint", path).register(meterRegistry))));
+        this.keyByApiKey = "api-key".equals(properties.getKey());
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Endpoint endpoint = endpoints.get(request.getServletPath());
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = endpoint.limiter.tryAcquire(clientOf(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        endpoint.rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrorResponse(LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests. Retry in " + retryAfterSeconds + " s."));
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (keyByApiKey) {
+            String apiKey = request.getHeader(apiKeyHeader);
+            if (apiKey != null && !apiKey.isEmpty() && apiKeys.contains(apiKey)) {
+                // Prefixed so a key can never share a bucket with an IP address.
+                return "key:" + apiKey;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static final class Endpoint {
+
+        private final RateLimiter limiter;
+        private final Counter rejected;
+
+        private Endpoint(RateLimiter limiter, Counter rejected) {
+            this.limiter = limiter;
+            this.rejected = rejected;
+        }
+    }
+}
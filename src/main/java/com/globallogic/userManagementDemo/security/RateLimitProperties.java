@@ -0,0 +1,45 @@
+package com.globallogic.userManagementDemo.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /**
+     * {@code ip} or {@code api-key}; with {@code api-key}, requests without a key from {@code api-keys} are limited by
+     * IP.
+     */
+    private String key = "ip";
+    private String apiKeyHeader = "X-API-Key";
+    /**
+     * Keys that get a bucket of their own. Any other header value is ignored, so a client cannot get a fresh bucket
+     * by sending a new key.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+    private long maxClients = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<String, Limit> endpoints = new LinkedHashMap<>(Map.of(
+            "/sign-up", new Limit(20, 5),
+            "/sign-up/batch", new Limit(2, 0.1),
+            "/login", new Limit(50, 20)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,64 @@
+package com.globallogic.userManagementDemo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client, holding {@code capacity} tokens and refilled at {@code refillPerSecond}. Each bucket is a
+ * single {@link AtomicLong} with the time at which it will be full again (the generic cell rate algorithm), so taking
+ * a token is one compare-and-set and never blocks. Buckets live in a bounded cache and are dropped once idle for
+ * longer than it takes them to refill, when forgetting them changes nothing.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(int capacity, double refillPerSecond, long maxClients, Duration idleTimeout) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("A rate limit needs a capacity of at least 1 and a positive refill rate");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.toleranceNanos = intervalNanos * (capacity - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Math.max(idleTimeout.toNanos(), toleranceNanos + intervalNanos), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code client}. Returns {@code 0} if one was available, otherwise the nanoseconds until the
+     * next one is.
+     */
+    public long tryAcquire(String client) {
+        return tryAcquire(client, System.nanoTime());
+    }
+
+    long tryAcquire(String client, long now) {
+        AtomicLong bucket = buckets.getIfPresent(client);
+        if (bucket == null) {
+            bucket = buckets.get(client, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long full = bucket.get();
+            // Time at which the bucket would be full again; a bucket that is already full counts from now.
+            long start = full - now > 0 ? full : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long estimatedClients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,18 @@
+package com.globallogic.userManagementDemo.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Map;
+
+/**
+ * Signs and verifies the HS256 tokens issued by {@link JwtService}. Implementations must produce byte-identical
+ * tokens for the same input and throw the same jjwt exceptions on invalid or expired tokens.
+ */
+interface TokenCodec {
+
+    String encode(String subject, long issuedAtSeconds, long expirationSeconds);
+
+    String encode(String subject, long issuedAtSeconds, long expirationSeconds, Map<String, ?> claims);
+
+    Claims decode(String token);
+}
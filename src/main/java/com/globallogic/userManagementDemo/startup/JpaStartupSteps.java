@@ -0,0 +1,73 @@
+package com.globallogic.userManagementDemo.startup;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Adds the Hibernate bootstrap phases to the startup timeline, nested in the {@code entityManagerFactory} bean:
+ * {@code jpa.metadata} (entity scanning and mapping) and {@code jpa.session-factory} (which includes the
+ * {@code ddl-auto} schema update or validation).
+ */
+@Component
+public class JpaStartupSteps implements HibernatePropertiesCustomizer, ApplicationStartupAware {
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    private StartupStep current;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> Collections.singletonList(new MetadataBuilt()));
+        hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, new SessionFactoryBuilt());
+        // Customizers run just before the EntityManagerFactory is built.
+        next("jpa.metadata");
+    }
+
+    private synchronized void next(String name) {
+        if (current != null) {
+            current.end();
+        }
+        current = name == null ? null : applicationStartup.start(name);
+    }
+
+    private final class MetadataBuilt implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                              SessionFactoryServiceRegistry serviceRegistry) {
+            next("jpa.session-factory");
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+
+    private final class SessionFactoryBuilt implements SessionFactoryObserver {
+
+        @Override
+        public void sessionFactoryCreated(SessionFactory factory) {
+            next(null);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.globallogic.userManagementDemo.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the {@code startup.log-slowest-steps} startup steps that took longest once the application is ready. Steps are
+ * ranked by their own time, without the steps nested in them, so a bean is not blamed for the dependencies it pulled
+ * in. The full timeline is served by {@code /actuator/startup}.
+ */
+@Slf4j
+@Component
+public class SlowestStartupSteps {
+
+    private final StartupProperties properties;
+
+    @Autowired
+    public SlowestStartupSteps(StartupProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void log(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (properties.getLogSlowestSteps() <= 0 || !(startup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        List<Step> steps = slowest(((BufferingApplicationStartup) startup).getBufferedTimeline(), properties.getLogSlowestSteps());
+        log.info("Slowest {} startup steps:", steps.size());
+        for (Step step : steps) {
+            log.info("{} ms {} {}", step.selfTime.toMillis(), step.name, step.tags);
+        }
+    }
+
+    static List<Step> slowest(StartupTimeline timeline, int limit) {
+        Map<Long, Duration> nested = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parent = event.getStartupStep().getParentId();
+            if (parent != null) {
+                nested.merge(parent, event.getDuration(), Duration::plus);
+            }
+        }
+        return timeline.getEvents().stream()
+                .map(event -> new Step(event, nested.getOrDefault(event.getStartupStep().getId(), Duration.ZERO)))
+                .sorted(Comparator.comparing((Step step) -> step.selfTime).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    static final class Step {
+
+        final String name;
+        final String tags;
+        final Duration selfTime;
+
+        private Step(StartupTimeline.TimelineEvent event, Duration nested) {
+            StartupStep step = event.getStartupStep();
+            StringJoiner tags = new StringJoiner(", ", "[", "]");
+            step.getTags().forEach(tag -> tags.add(tag.getKey() + "=" + tag.getValue()));
+            Duration selfTime = event.getDuration().minus(nested);
+            this.name = step.getName();
+            this.tags = tags.toString();
+            this.selfTime = selfTime.isNegative() ? Duration.ZERO : selfTime;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.globallogic.userManagementDemo.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "startup")
+public class StartupProperties {
+    private int logSlowestSteps = 0;
+    private boolean exitOnReady = false;
+}
@@ -0,0 +1,172 @@
+package com.globallogic.userManagementDemo.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.security.BoundedPasswordEncoder;
+import com.globallogic.userManagementDemo.security.JwtService;
+import com.globallogic.userManagementDemo.user.PasswordPolicy;
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import com.globallogic.userManagementDemo.user.dto.LoginRequest;
+import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
+import com.globallogic.userManagementDemo.user.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the sign-up and login hot paths with synthetic data once the application has started, so they are compiled
+ * before real requests arrive: BCrypt, token signing and verification, request validation, the Jackson and MapStruct
+ * conversions and the read queries of the user store. Nothing is written, and BCrypt and the tokens are driven below
+ * the pool, timers and verified token cache that requests go through, so the synthetic calls leave no cache entries
+ * and no metric samples behind.
+ * <p>
+ * Each path runs in batches of {@code batch-duration}, taking turns, until its mean time per call has stayed within
+ * {@code tolerance} of the previous batch for {@code stable-batches} batches in a row, or {@code max-duration} is
+ * spent. Spring Boot only reports the readiness state {@code ACCEPTING_TRAFFIC} once the {@link ApplicationReadyEvent}
+ * listeners have returned, so {@code /actuator/health/readiness} answers {@code OUT_OF_SERVICE} until this is done.
+ */
+@Slf4j
+@Component
+public class WarmUp {
+
+    private static final String PASSWORD = "a2asfGfdfdf4";
+
+    private final WarmUpProperties properties;
+    private final List<Path> paths;
+    private volatile int sink;
+
+    @Autowired
+    public WarmUp(WarmUpProperties properties, PasswordEncoder passwordEncoder, JwtService jwtService,
+                  UserStore userStore, UserMapper userMapper, ObjectMapper objectMapper, Validator validator,
+                  PasswordPolicy passwordPolicy) {
+        this.properties = properties;
+        byte[] signUpJson = ("{\"name\":\"Warm Up\",\"email\":\"warm-up@example.invalid\",\"password\":\"" + PASSWORD
+                + "\",\"phones\":[{\"number\":87650009,\"citycode\":7,\"countrycode\":\"25\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        this.paths = Arrays.asList(
+                new Path("password-hashing", () -> passwordEncoder instanceof BoundedPasswordEncoder
+                        ? ((BoundedPasswordEncoder) passwordEncoder).warmUp(PASSWORD)
+                        : passwordEncoder.encode(PASSWORD)),
+                new Path("jwt", () -> jwtService.warmUp(UUID.randomUUID().toString(), 1)),
+                new Path("sign-up-request", () -> {
+                    SignUpRequest request = objectMapper.readValue(signUpJson, SignUpRequest.class);
+                    return validator.validate(request).size() + passwordPolicy.check(request.getPassword())
+                            + userMapper.toUser(request).hashCode()
+                            + userMapper.toPhoneList(request.getPhones()).size();
+                }),
+                new Path("login-request", () -> {
+                    LoginRequest request = objectMapper.readValue("{\"token\":\"warm-up\"}", LoginRequest.class);
+                    return validator.validate(request);
+                }),
+                new Path("responses", () -> {
+                    User user = syntheticUser();
+                    return objectMapper.writeValueAsBytes(userMapper.toSignUpResponse(user)).length
+                            + objectMapper.writeValueAsBytes(userMapper.toLoginResponse(user)).length;
+                }),
+                new Path("user-store-reads", () -> {
+                    // Random keys that match nothing, so the queries run but find no user.
+                    String email = "warm-up-" + UUID.randomUUID() + "@example.invalid";
+                    return userStore.findByEmail(email).isPresent()
+                            | userStore.findSnapshotById(UUID.randomUUID()).isPresent()
+                            | userStore.findExistingEmails(Collections.singletonList(email)).isEmpty();
+                }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        long batchNanos = properties.getBatchDuration().toNanos();
+        List<Path> remaining = new ArrayList<>(paths);
+        while (!remaining.isEmpty() && System.nanoTime() < deadline) {
+            remaining.removeIf(path -> path.runBatch(batchNanos));
+        }
+
+        StringJoiner summary = new StringJoiner(", ");
+        for (Path path : paths) {
+            summary.add(String.format("%s %d calls, %.1f us/call%s", path.name, path.calls,
+                    path.previousMean / 1000, path.isStable() ? "" : " (not stable)"));
+        }
+        log.info("Warm-up finished in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), summary);
+    }
+
+    private User syntheticUser() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("Warm Up");
+        user.setEmail("warm-up@example.invalid");
+        user.setPassword(PASSWORD);
+        user.setCreated(LocalDateTime.now());
+        user.setLastLogin(user.getCreated());
+        user.setToken("warm-up");
+        user.setIsActive(true);
+        user.setPhones(Collections.singletonList(new Phone(null, 87650009L, 7, "25", user)));
+        return user;
+    }
+
+    private final class Path {
+
+        final String name;
+        final Callable<Object> call;
+        long calls;
+        double previousMean;
+        int stableBatches;
+
+        Path(String name, Callable<Object> call) {
+            this.name = name;
+            this.call = call;
+        }
+
+        /**
+         * Returns {@code true} once the mean time per call has settled, or if the path fails, which is only logged:
+         * a cold path is no reason to refuse traffic.
+         */
+        boolean runBatch(long batchNanos) {
+            long start = System.nanoTime();
+            long elapsed;
+            int batchCalls = 0;
+            try {
+                do {
+                    sink += call.call().hashCode();
+                    batchCalls++;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < batchNanos);
+            } catch (Exception e) {
+                log.warn("Warm-up of {} failed, skipping it", name, e);
+                return true;
+            }
+            calls += batchCalls;
+            double mean = (double) elapsed / batchCalls;
+            if (previousMean > 0 && Math.abs(mean - previousMean) <= properties.getTolerance() * previousMean) {
+                stableBatches++;
+            } else {
+                stableBatches = 0;
+            }
+            previousMean = mean;
+            return isStable();
+        }
+
+        boolean isStable() {
+            return stableBatches >= properties.getStableBatches();
+        }
+    }
+}
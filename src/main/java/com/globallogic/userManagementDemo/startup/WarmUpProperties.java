@@ -0,0 +1,18 @@
+package com.globallogic.userManagementDemo.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "warm-up")
+public class WarmUpProperties {
+    private boolean enabled = true;
+    private Duration maxDuration = Duration.ofSeconds(20);
+    private Duration batchDuration = Duration.ofMillis(100);
+    private double tolerance = 0.1;
+    private int stableBatches = 3;
+}
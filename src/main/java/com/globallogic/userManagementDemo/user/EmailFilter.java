@@ -0,0 +1,154 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of registered emails. A negative answer means the email is certainly not registered, so sign-up can
+ * skip the {@code findByEmail} query; a positive answer still has to be confirmed against the database, and the
+ * unique constraint on {@code users.email} stays the final arbiter. Until the filter has been warmed from the
+ * {@code users} table every email is reported as possibly present.
+ */
+@Slf4j
+@Component
+public class EmailFilter {
+
+    private final UserStore userStore;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLongArray bits;
+
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public EmailFilter(UserStore userStore, EmailFilterProperties properties) {
+        this.userStore = userStore;
+        this.enabled = properties.isEnabled();
+        this.falsePositiveRate = properties.getFalsePositiveRate();
+        long expectedInsertions = Math.max(1, properties.getExpectedInsertions());
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitSize = enabled ? Math.max(64, (optimalBits + 63) / 64 * 64) : 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitSize / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (Stream<String> emails = userStore.streamAllEmails()) {
+            emails.forEach(this::add);
+        }
+        warmedUp = true;
+        log.info("Email filter warmed up with {} emails in {} ms ({} bits, {} hash functions, estimated false-positive rate {})",
+                getInsertions(), (System.nanoTime() - start) / 1_000_000, bitSize, hashFunctions,
+                String.format("%.4f", getEstimatedFalsePositiveRate()));
+    }
+
+    public boolean mightContain(String email) {
+        if (!enabled || !warmedUp) {
+            return true;
+        }
+        long hash = hash(email);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                skippedLookups.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(email);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.accumulateAndGet(word, mask, (current, bit) -> current | bit);
+            }
+        }
+        insertions.increment();
+    }
+
+    public void recordFalsePositive() {
+        if (enabled && warmedUp) {
+            falsePositives.increment();
+        }
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    public long getSkippedLookups() {
+        return skippedLookups.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    public double getConfiguredFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public double getEstimatedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * getInsertions() / bitSize), hashFunctions);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional write-behind buffer for the {@code lastLogin} and {@code token} columns updated on every login. Updates
+ * for the same user are coalesced in memory, so only the latest one is written, and are flushed in batches through
+ * {@link UserStore#updateLogins} every {@code flush-interval} or as soon as {@code max-pending} users are waiting.
+ * Pending updates are flushed on shutdown. Stateless login always goes through this buffer, so it is also enabled by {@code stateless-login.enabled}.
+ */
+@Slf4j
+@Component
+public class LoginUpdateBuffer {
+
+    private final UserStore userStore;
+    private final LoginWriteBehindProperties properties;
+    private final boolean enabled;
+    private final Map<UUID, UserStore.LoginUpdate> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public LoginUpdateBuffer(UserStore userStore, LoginWriteBehindProperties properties,
+                             StatelessLoginProperties statelessLoginProperties) {
+        this.userStore = userStore;
+        this.properties = properties;
+        this.enabled = properties.isEnabled() || statelessLoginProperties.isEnabled();
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "login-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getFlushInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(UUID userId, LocalDateTime lastLogin, String token, int tokenGeneration) {
+        pending.put(userId, new UserStore.LoginUpdate(userId, lastLogin, token, tokenGeneration));
+        if (pending.size() >= properties.getMaxPending() && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Returns the last login that has been accepted but not yet written for the given user, or {@code null}.
+     */
+    public LocalDateTime pendingLastLogin(UUID userId) {
+        UserStore.LoginUpdate login = pending.get(userId);
+        return login != null ? login.getLastLogin() : null;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public synchronized void flush() {
+        List<UserStore.LoginUpdate> batch = new ArrayList<>(properties.getBatchSize());
+        Iterator<UUID> iterator = pending.keySet().iterator();
+        while (iterator.hasNext()) {
+            UserStore.LoginUpdate login = pending.remove(iterator.next());
+            if (login == null) {
+                continue;
+            }
+            batch.add(login);
+            if (batch.size() == properties.getBatchSize()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(properties.getFlushInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void write(List<UserStore.LoginUpdate> batch) {
+        try {
+            userStore.updateLogins(batch);
+        } catch (RuntimeException e) {
+            // Put the updates back unless a newer login for the same user has arrived in the meantime.
+            for (UserStore.LoginUpdate login : batch) {
+                pending.putIfAbsent(login.getId(), login);
+            }
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} pending login updates", pending.size(), e);
+        }
+    }
+}
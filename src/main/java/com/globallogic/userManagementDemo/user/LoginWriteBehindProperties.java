@@ -0,0 +1,17 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "login-write-behind")
+public class LoginWriteBehindProperties {
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int maxPending = 1_000;
+    private int batchSize = 500;
+}
@@ -0,0 +1,142 @@
+package com.globallogic.userManagementDemo.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.StringJoiner;
+
+/**
+ * Checks passwords against the rules in {@link PasswordPolicyProperties} in a single pass over the characters. The
+ * check does not allocate and returns every violated rule as a bit set, so the error message can list all of them;
+ * only building that message allocates.
+ */
+@Component
+public class PasswordPolicy {
+
+    public static final int TOO_SHORT = 1;
+    public static final int TOO_LONG = 1 << 1;
+    public static final int UPPERCASE = 1 << 2;
+    public static final int LOWERCASE = 1 << 3;
+    public static final int DIGITS = 1 << 4;
+    public static final int INVALID_CHARACTER = 1 << 5;
+
+    private final int minLength;
+    private final int maxLength;
+    private final int minUppercase;
+    private final int maxUppercase;
+    private final int minLowercase;
+    private final int maxLowercase;
+    private final int minDigits;
+    private final int maxDigits;
+    private final boolean lettersAndDigitsOnly;
+
+    @Autowired
+    public PasswordPolicy(PasswordPolicyProperties properties) {
+        this.minLength = properties.getMinLength();
+        this.maxLength = unlimitedIfNegative(properties.getMaxLength());
+        this.minUppercase = properties.getMinUppercase();
+        this.maxUppercase = unlimitedIfNegative(properties.getMaxUppercase());
+        this.minLowercase = properties.getMinLowercase();
+        this.maxLowercase = unlimitedIfNegative(properties.getMaxLowercase());
+        this.minDigits = properties.getMinDigits();
+        this.maxDigits = unlimitedIfNegative(properties.getMaxDigits());
+        this.lettersAndDigitsOnly = properties.isLettersAndDigitsOnly();
+    }
+
+    /**
+     * Returns the violated rules as a combination of the constants above, or {@code 0} if the password is valid.
+     */
+    public int check(String password) {
+        int length = password.length();
+        int uppercase = 0;
+        int lowercase = 0;
+        int digits = 0;
+        int other = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                lowercase++;
+            } else if (c >= 'A' && c <= 'Z') {
+                uppercase++;
+            } else if (c >= '0' && c <= '9') {
+                digits++;
+            } else {
+                other++;
+            }
+        }
+        int violations = 0;
+        if (length < minLength) {
+            violations |= TOO_SHORT;
+        }
+        if (length > maxLength) {
+            violations |= TOO_LONG;
+        }
+        if (uppercase < minUppercase || uppercase > maxUppercase) {
+            violations |= UPPERCASE;
+        }
+        if (lowercase < minLowercase || lowercase > maxLowercase) {
+            violations |= LOWERCASE;
+        }
+        if (digits < minDigits || digits > maxDigits) {
+            violations |= DIGITS;
+        }
+        if (lettersAndDigitsOnly && other > 0) {
+            violations |= INVALID_CHARACTER;
+        }
+        return violations;
+    }
+
+    public boolean isValid(String password) {
+        return check(password) == 0;
+    }
+
+    /**
+     * Describes the given violations, for example
+     * {@code "Invalid password. It must have exactly 1 uppercase letter and exactly 2 digits."}.
+     */
+    public String describe(int violations) {
+        StringJoiner rules = new StringJoiner(", ");
+        if ((violations & (TOO_SHORT | TOO_LONG)) != 0) {
+            rules.add(range(minLength, maxLength, "character"));
+        }
+        if ((violations & UPPERCASE) != 0) {
+            rules.add(range(minUppercase, maxUppercase, "uppercase letter"));
+        }
+        if ((violations & LOWERCASE) != 0) {
+            rules.add(range(minLowercase, maxLowercase, "lowercase letter"));
+        }
+        if ((violations & DIGITS) != 0) {
+            rules.add(range(minDigits, maxDigits, "digit"));
+        }
+        if ((violations & INVALID_CHARACTER) != 0) {
+            rules.add("only letters and digits");
+        }
+        String description = rules.toString();
+        int last = description.lastIndexOf(", ");
+        if (last >= 0) {
+            description = description.substring(0, last) + " and " + description.substring(last + 2);
+        }
+        return "Invalid password. It must have " + description + ".";
+    }
+
+    private static String range(int min, int max, String noun) {
+        if (min == max) {
+            return "exactly " + count(min, noun);
+        }
+        if (max == Integer.MAX_VALUE) {
+            return "at least " + count(min, noun);
+        }
+        if (min <= 0) {
+            return "at most " + count(max, noun);
+        }
+        return "between " + min + " and " + count(max, noun);
+    }
+
+    private static String count(int count, String noun) {
+        return count + " " + noun + (count == 1 ? "" : "s");
+    }
+
+    private static int unlimitedIfNegative(int max) {
+        return max < 0 ? Integer.MAX_VALUE : max;
+    }
+}
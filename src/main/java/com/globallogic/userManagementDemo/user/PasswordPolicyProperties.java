@@ -0,0 +1,23 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password rules checked by {@link PasswordPolicy}. A maximum of {@code -1} means no limit.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "password-policy")
+public class PasswordPolicyProperties {
+    private int minLength = 8;
+    private int maxLength = 12;
+    private int minUppercase = 1;
+    private int maxUppercase = 1;
+    private int minLowercase = 1;
+    private int maxLowercase = -1;
+    private int minDigits = 2;
+    private int maxDigits = 2;
+    private boolean lettersAndDigitsOnly = true;
+}
@@ -0,0 +1,14 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "sign-up-batch")
+public class SignUpBatchProperties {
+    private int chunkSize = 500;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int hashingAttempts = 3;
+}
@@ -0,0 +1,12 @@
+package com.globallogic.userManagementDemo.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stateless-login")
+public class StatelessLoginProperties {
+    private boolean enabled = false;
+}
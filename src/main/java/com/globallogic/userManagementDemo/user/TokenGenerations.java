@@ -0,0 +1,95 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.datasource.ReadWriteRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Current token generation of every user, warmed from {@code users.token_generation} at startup. Each token carries
+ * the generation it was issued for in its {@code gen} claim; a login moves the user to the next generation, so
+ * superseded and revoked tokens are rejected with a map lookup instead of a query. Users that are not in the map yet
+ * (before warm-up finishes) accept any generation. The map is local to the instance, so it only ever moves forward to
+ * generations seen in tokens and never rejects one it has not caught up with.
+ */
+@Slf4j
+@Component
+public class TokenGenerations {
+
+    private final UserStore userStore;
+    private final UuidIntMap generations = new UuidIntMap();
+
+    @Autowired
+    public TokenGenerations(UserStore userStore) {
+        this.userStore = userStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        long start = System.nanoTime();
+        // A lagging replica could bring back generations that have since been revoked.
+        int users = ReadWriteRoutingDataSource.onPrimary(() -> {
+            try (Stream<Object[]> rows = userStore.streamTokenGenerations()) {
+                rows.forEach(row -> generations.putIfGreater((UUID) row[0], ((Number) row[1]).intValue()));
+            }
+            return generations.size();
+        });
+        log.info("Token generations warmed up with {} users in {} ms", users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Moves the user from {@code generation} to the next one. Returns {@code false} if a token of {@code generation}
+     * has been superseded, including when a concurrent login with the same token got there first. A token ahead of
+     * the map is accepted: it was issued by another instance, or before a crash lost a buffered login update, and the
+     * conditional update in the store has the final say.
+     */
+    public boolean rotate(UUID userId, int generation) {
+        while (true) {
+            int current = generations.get(userId);
+            if (generation < current) {
+                return false;
+            }
+            if (generations.compareAndSet(userId, current, generation + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if a token of {@code generation} has been superseded, without moving the user on.
+     */
+    public boolean isSuperseded(UUID userId, int generation) {
+        return generation < generations.get(userId);
+    }
+
+    /**
+     * Undoes a {@link #rotate} whose login could not be completed, unless the user has moved on since.
+     */
+    public void rollback(UUID userId, int generation) {
+        generations.compareAndSet(userId, generation + 1, generation);
+    }
+
+    /**
+     * Invalidates every token issued so far and returns the generation that new tokens must carry.
+     */
+    public int revoke(UUID userId, int storedGeneration) {
+        while (true) {
+            int current = generations.get(userId);
+            int next = Math.max(current, storedGeneration) + 1;
+            if (generations.compareAndSet(userId, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    public int size() {
+        return generations.size();
+    }
+}
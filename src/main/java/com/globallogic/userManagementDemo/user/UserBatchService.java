@@ -0,0 +1,285 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
+import com.globallogic.userManagementDemo.exception.PasswordHashingUnavailableException;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import com.globallogic.userManagementDemo.user.dto.SignUpBatchResult;
+import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
+import com.globallogic.userManagementDemo.user.mapper.UserMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from an NDJSON stream of {@link SignUpRequest} records, one result line per input line. Records are
+ * processed in fixed-size chunks: validated, checked for duplicates with a single query, hashed in parallel and
+ * inserted in one JDBC-batched transaction, so memory use does not depend on the size of the input.
+ */
+@Service
+public class UserBatchService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final UserService userService;
+    private final UserStore userStore;
+    private final UserMapper userMapper;
+    private final EmailFilter emailFilter;
+    private final PasswordPolicy passwordPolicy;
+    private final ReadYourWrites readYourWrites;
+    private final Validator validator;
+    private final SignUpBatchProperties properties;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final ForkJoinPool hashingPool;
+
+    @Autowired
+    public UserBatchService(UserService userService, UserStore userStore, UserMapper userMapper,
+                            EmailFilter emailFilter, PasswordPolicy passwordPolicy, ReadYourWrites readYourWrites,
+                            Validator validator, ObjectMapper objectMapper, SignUpBatchProperties properties) {
+        this.userService = userService;
+        this.userStore = userStore;
+        this.userMapper = userMapper;
+        this.emailFilter = emailFilter;
+        this.passwordPolicy = passwordPolicy;
+        this.readYourWrites = readYourWrites;
+        this.validator = validator;
+        this.properties = properties;
+        this.requestReader = objectMapper.readerFor(SignUpRequest.class);
+        this.resultWriter = objectMapper.writerFor(SignUpBatchResult.class);
+        this.hashingPool = new ForkJoinPool(properties.getParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public void signUp(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<BatchRecord> chunk = new ArrayList<>(properties.getChunkSize());
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == properties.getChunkSize()) {
+                processChunk(chunk, output);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, output);
+        }
+        output.flush();
+    }
+
+    private BatchRecord parse(long lineNumber, String line) {
+        BatchRecord record = new BatchRecord(lineNumber);
+        try {
+            record.request = requestReader.readValue(line);
+            if (record.request == null) {
+                record.fail(HttpStatus.BAD_REQUEST, "Malformed JSON: expected a sign-up request object");
+            }
+        } catch (JsonProcessingException e) {
+            record.fail(HttpStatus.BAD_REQUEST, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        return record;
+    }
+
+    private void processChunk(List<BatchRecord> chunk, OutputStream output) throws IOException {
+        validate(chunk);
+        rejectDuplicates(chunk);
+        createUsers(chunk);
+        persist(chunk);
+        for (BatchRecord record : chunk) {
+            output.write(resultWriter.writeValueAsBytes(record.result()));
+            output.write(NEW_LINE);
+        }
+        output.flush();
+    }
+
+    private void validate(List<BatchRecord> chunk) {
+        for (BatchRecord record : pending(chunk)) {
+            Set<ConstraintViolation<SignUpRequest>> violations = validator.validate(record.request);
+            if (!violations.isEmpty()) {
+                String errors = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                record.fail(HttpStatus.BAD_REQUEST, "Validation Error(s): " + errors);
+            } else {
+                int passwordViolations = passwordPolicy.check(record.request.getPassword());
+                if (passwordViolations != 0) {
+                    record.fail(HttpStatus.BAD_REQUEST, passwordPolicy.describe(passwordViolations));
+                }
+            }
+        }
+    }
+
+    private void rejectDuplicates(List<BatchRecord> chunk) {
+        List<BatchRecord> pending = pending(chunk);
+        Set<String> seen = new HashSet<>();
+        Set<String> candidates = new HashSet<>();
+        for (BatchRecord record : pending) {
+            if (!seen.add(record.request.getEmail())) {
+                record.failAsDuplicate();
+            } else if (emailFilter.mightContain(record.request.getEmail())) {
+                candidates.add(record.request.getEmail());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(userStore.findExistingEmails(candidates));
+        for (BatchRecord record : pending) {
+            if (!record.isFailed() && existing.contains(record.request.getEmail())) {
+                record.failAsDuplicate();
+            }
+        }
+    }
+
+    private void createUsers(List<BatchRecord> chunk) {
+        List<BatchRecord> pending = pending(chunk);
+        try {
+            hashingPool.submit(() -> pending.parallelStream().forEach(this::createUser)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void createUser(BatchRecord record) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                record.user = userService.createUser(record.request);
+                return;
+            } catch (PasswordHashingUnavailableException e) {
+                if (attempt >= properties.getHashingAttempts()) {
+                    record.fail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(e.getRetryAfterSeconds() * 1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    record.fail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void persist(List<BatchRecord> chunk) {
+        List<BatchRecord> pending = pending(chunk);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            userStore.persistAll(pending.stream().map(record -> record.user).collect(Collectors.toList()));
+            for (BatchRecord record : pending) {
+                created(record);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent sign-up took one of the emails; retry one by one to find out which records failed.
+            for (BatchRecord record : pending) {
+                resetGeneratedIds(record.user);
+                try {
+                    userStore.persist(record.user);
+                    created(record);
+                } catch (DataIntegrityViolationException duplicate) {
+                    record.failAsDuplicate();
+                }
+            }
+        }
+    }
+
+    private void created(BatchRecord record) {
+        record.created();
+        emailFilter.add(record.user.getEmail());
+        readYourWrites.recordWrite(record.user.getId());
+        readYourWrites.recordWrite(record.user.getEmail());
+    }
+
+    private static void resetGeneratedIds(User user) {
+        if (user.getPhones() != null) {
+            for (Phone phone : user.getPhones()) {
+                phone.setId(null);
+            }
+        }
+    }
+
+    private static List<BatchRecord> pending(List<BatchRecord> chunk) {
+        return chunk.stream()
+                .filter(record -> !record.isFailed())
+                .collect(Collectors.toList());
+    }
+
+    private class BatchRecord {
+
+        private final long line;
+        private SignUpRequest request;
+        private User user;
+        private HttpStatus status;
+        private String detail;
+
+        private BatchRecord(long line) {
+            this.line = line;
+        }
+
+        private boolean isFailed() {
+            return status != null && status.isError();
+        }
+
+        private void fail(HttpStatus status, String detail) {
+            this.status = status;
+            this.detail = detail;
+        }
+
+        private void failAsDuplicate() {
+            fail(HttpStatus.CONFLICT, "User with email '" + request.getEmail() + "' already exists.");
+        }
+
+        private void created() {
+            this.status = HttpStatus.CREATED;
+        }
+
+        private SignUpBatchResult result() {
+            if (status == HttpStatus.CREATED) {
+                return new SignUpBatchResult(line, status.value(), null, userMapper.toSignUpResponse(user));
+            }
+            return new SignUpBatchResult(line, status.value(), detail, null);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Read-through cache of user snapshots (the user and its phones) in front of {@link UserStore#findSnapshotById}.
+ * Snapshots are detached copies with their phones already loaded; callers must treat them as read-only and go
+ * through {@link #updateLogin} or {@link #invalidate} after writing the user.
+ * <p>
+ * Misses are loaded by the calling thread outside of the cache's internal locks, so a database read never holds a
+ * monitor; concurrent requests for the same user wait on the pending load instead of issuing their own.
+ */
+@Component
+public class UserCache {
+
+    private final UserStore userStore;
+    private final ReadYourWrites readYourWrites;
+    private final AsyncCache<UUID, User> cache;
+
+    @Autowired
+    public UserCache(UserStore userStore, ReadYourWrites readYourWrites, UserCacheProperties properties) {
+        this.userStore = userStore;
+        this.readYourWrites = readYourWrites;
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(properties.getTimeToLive())
+                        .recordStats()
+                        .buildAsync()
+                : null;
+    }
+
+    public Optional<User> findById(UUID id) {
+        if (cache == null) {
+            return Optional.ofNullable(load(id));
+        }
+        CompletableFuture<User> loading = new CompletableFuture<>();
+        CompletableFuture<User> snapshot = cache.get(id, (key, executor) -> loading);
+        if (snapshot == loading) {
+            try {
+                loading.complete(load(id));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return Optional.ofNullable(snapshot.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    public void updateLogin(UUID id, LocalDateTime lastLogin, String token, int tokenGeneration) {
+        if (cache != null) {
+            cache.asMap().computeIfPresent(id, (key, snapshot) -> {
+                if (!snapshot.isDone() || snapshot.isCompletedExceptionally()) {
+                    // A load still in flight may have read the row before this update, so drop it instead.
+                    return null;
+                }
+                User updated = copyOf(snapshot.join());
+                updated.setLastLogin(lastLogin);
+                updated.setToken(token);
+                updated.setTokenGeneration(tokenGeneration);
+                return CompletableFuture.completedFuture(updated);
+            });
+        }
+    }
+
+    public void invalidate(UUID id) {
+        if (cache != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.synchronous().stats() : CacheStats.empty();
+    }
+
+    public long size() {
+        return cache != null ? cache.synchronous().estimatedSize() : 0;
+    }
+
+    private User load(UUID id) {
+        return readYourWrites.read(id, () -> userStore.findSnapshotById(id)).orElse(null);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getCreated(),
+                user.getLastLogin(), user.getToken(), user.getIsActive(), user.getTokenGeneration(), null);
+        List<Phone> phones = new ArrayList<>();
+        if (user.getPhones() != null) {
+            for (Phone phone : user.getPhones()) {
+                phones.add(new Phone(phone.getId(), phone.getNumber(), phone.getCitycode(), phone.getCountrycode(), copy));
+            }
+        }
+        copy.setPhones(Collections.unmodifiableList(phones));
+        return copy;
+    }
+}
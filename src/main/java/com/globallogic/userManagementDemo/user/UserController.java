@@ -7,9 +7,13 @@ import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,10 +27,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final UserBatchService userBatchService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserBatchService userBatchService) {
         this.userService = userService;
+        this.userBatchService = userBatchService;
     }
 
     @PostMapping("/sign-up")
@@ -35,9 +41,22 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/sign-up/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void signUpBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userBatchService.signUp(request.getInputStream(), response.getOutputStream());
+    }
+
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
         LoginResponse response = userService.loginUserByToken(request.getToken());
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<SignUpResponse> revoke(@Valid @RequestBody LoginRequest request) {
+        SignUpResponse response = userService.revokeTokens(request.getToken());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 }
\ No newline at end of file
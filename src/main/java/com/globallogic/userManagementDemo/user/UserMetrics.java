@@ -0,0 +1,107 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.exception.ExpiredTokenException;
+import com.globallogic.userManagementDemo.exception.InvalidPasswordException;
+import com.globallogic.userManagementDemo.exception.PasswordHashingUnavailableException;
+import com.globallogic.userManagementDemo.exception.TokenRevokedException;
+import com.globallogic.userManagementDemo.exception.UserAlreadyExistsException;
+import com.globallogic.userManagementDemo.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the sign-up and login flows. {@code user.signup} and {@code user.login} time a whole request and
+ * are tagged by outcome; {@code user.stage} times the individual steps inside {@link UserService}. All meters are
+ * registered up front so the hot path only records into a pre-resolved {@link Timer}.
+ */
+@Component
+public class UserMetrics {
+
+    static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+
+    public enum Outcome {
+        SUCCESS, DUPLICATE, INVALID_PASSWORD, BAD_TOKEN, EXPIRED_TOKEN, REVOKED_TOKEN, NOT_FOUND, REJECTED, ERROR;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Stage {
+        PASSWORD_VALIDATION, PASSWORD_HASHING, FIND_BY_EMAIL, FIND_BY_ID, SAVE, UPDATE_LOGIN, RESPONSE_MAPPING;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Map<Outcome, Timer> signUpTimers = new EnumMap<>(Outcome.class);
+    private final Map<Outcome, Timer> loginTimers = new EnumMap<>(Outcome.class);
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+
+    @Autowired
+    public UserMetrics(MeterRegistry meterRegistry) {
+        for (Outcome outcome : Outcome.values()) {
+            signUpTimers.put(outcome, timer(meterRegistry, "user.signup", "outcome", outcome.tag()));
+            loginTimers.put(outcome, timer(meterRegistry, "user.login", "outcome", outcome.tag()));
+        }
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, timer(meterRegistry, "user.stage", "stage", stage.tag()));
+        }
+    }
+
+    public Timer stage(Stage stage) {
+        return stageTimers.get(stage);
+    }
+
+    public void recordSignUp(long startNanos, RuntimeException failure) {
+        signUpTimers.get(signUpOutcome(failure)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLogin(long startNanos, Outcome outcome) {
+        loginTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static Outcome signUpOutcome(RuntimeException failure) {
+        if (failure == null) {
+            return Outcome.SUCCESS;
+        }
+        if (failure instanceof UserAlreadyExistsException) {
+            return Outcome.DUPLICATE;
+        }
+        if (failure instanceof InvalidPasswordException) {
+            return Outcome.INVALID_PASSWORD;
+        }
+        if (failure instanceof PasswordHashingUnavailableException) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.ERROR;
+    }
+
+    static Outcome tokenOutcome(RuntimeException failure) {
+        if (failure instanceof TokenRevokedException) {
+            return Outcome.REVOKED_TOKEN;
+        }
+        return failure instanceof ExpiredTokenException ? Outcome.EXPIRED_TOKEN : Outcome.BAD_TOKEN;
+    }
+
+    static Outcome loginOutcome(RuntimeException failure) {
+        if (failure instanceof TokenRevokedException) {
+            return Outcome.REVOKED_TOKEN;
+        }
+        return failure instanceof UserNotFoundException ? Outcome.NOT_FOUND : Outcome.ERROR;
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import com.globallogic.userManagementDemo.user.dto.LoginResponse;
+import com.globallogic.userManagementDemo.user.dto.PhoneResponse;
+import io.jsonwebtoken.Claims;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Profile fields embedded in tokens when stateless login is enabled, so a valid token can be answered and re-issued
+ * without reading the user. The password hash is left out on purpose: tokens are signed, not encrypted.
+ */
+final class UserProfileClaims {
+
+    static final String NAME = "name";
+    static final String EMAIL = "email";
+    static final String CREATED = "created";
+    static final String ACTIVE = "active";
+    static final String PHONES = "phones";
+
+    private static final String NUMBER = "number";
+    private static final String CITYCODE = "citycode";
+    private static final String COUNTRYCODE = "countrycode";
+
+    private UserProfileClaims() {
+    }
+
+    static Map<String, Object> of(User user) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(NAME, user.getName());
+        claims.put(EMAIL, user.getEmail());
+        claims.put(CREATED, user.getCreated().toString());
+        claims.put(ACTIVE, user.getIsActive());
+        List<Map<String, Object>> phones = new ArrayList<>();
+        if (user.getPhones() != null) {
+            for (Phone phone : user.getPhones()) {
+                Map<String, Object> claim = new LinkedHashMap<>();
+                claim.put(NUMBER, phone.getNumber());
+                claim.put(CITYCODE, phone.getCitycode());
+                claim.put(COUNTRYCODE, phone.getCountrycode());
+                phones.add(claim);
+            }
+        }
+        claims.put(PHONES, phones);
+        return claims;
+    }
+
+    static boolean isPresent(Claims claims) {
+        return claims.get(EMAIL) != null && claims.get(CREATED) != null;
+    }
+
+    static Map<String, Object> copyOf(Claims claims) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (String name : new String[]{NAME, EMAIL, CREATED, ACTIVE, PHONES}) {
+            copy.put(name, claims.get(name));
+        }
+        return copy;
+    }
+
+    /**
+     * Builds the login response for the token's owner. {@code lastLogin} is the time the token was issued, which is
+     * the previous sign-up or login.
+     */
+    static LoginResponse toLoginResponse(UUID id, Claims claims) {
+        LoginResponse response = new LoginResponse();
+        response.setId(id);
+        response.setName(claims.get(NAME, String.class));
+        response.setEmail(claims.get(EMAIL, String.class));
+        response.setCreated(LocalDateTime.parse(claims.get(CREATED, String.class)));
+        response.setLastLogin(LocalDateTime.ofInstant(claims.getIssuedAt().toInstant(), ZoneId.systemDefault()));
+        response.setIsActive(claims.get(ACTIVE, Boolean.class));
+        List<PhoneResponse> phones = new ArrayList<>();
+        Object phoneClaims = claims.get(PHONES);
+        if (phoneClaims instanceof Collection) {
+            for (Object element : (Collection<?>) phoneClaims) {
+                Map<?, ?> claim = (Map<?, ?>) element;
+                Number number = (Number) claim.get(NUMBER);
+                Number citycode = (Number) claim.get(CITYCODE);
+                phones.add(new PhoneResponse(
+                        number != null ? number.longValue() : null,
+                        citycode != null ? citycode.intValue() : null,
+                        (String) claim.get(COUNTRYCODE)));
+            }
+        }
+        response.setPhones(phones);
+        return response;
+    }
+}
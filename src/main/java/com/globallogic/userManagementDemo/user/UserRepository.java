@@ -2,13 +2,48 @@ package com.globallogic.userManagementDemo.user;
 
 import com.globallogic.userManagementDemo.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom, UserStore {
 
     Optional<User> findByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.email from User u")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    @Query("select u.id, u.tokenGeneration from User u")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamTokenGenerations();
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.lastLogin = :lastLogin, u.token = :token, u.tokenGeneration = :tokenGeneration " +
+            "where u.id = :id and u.tokenGeneration < :tokenGeneration")
+    int updateLogin(@Param("id") UUID id, @Param("lastLogin") LocalDateTime lastLogin, @Param("token") String token,
+                    @Param("tokenGeneration") int tokenGeneration);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.token = null, u.tokenGeneration = :tokenGeneration " +
+            "where u.id = :id and u.tokenGeneration < :tokenGeneration")
+    int revokeTokens(@Param("id") UUID id, @Param("tokenGeneration") int tokenGeneration);
 }
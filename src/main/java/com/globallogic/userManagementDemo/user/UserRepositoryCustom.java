@@ -0,0 +1,33 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts a new user whose id has already been assigned, without the SELECT that {@code save} issues for
+     * entities with a non-null id.
+     */
+    User persist(User user);
+
+    /**
+     * Inserts the given new users in a single transaction and detaches them afterwards, so that large imports
+     * do not grow the persistence context.
+     */
+    void persistAll(List<User> users);
+
+    /**
+     * Reads a detached copy of the user and its phones with one left-join query. Columns are read as scalars, so no
+     * entity is hydrated into the persistence context and nothing is dirty checked; the phones list is unmodifiable.
+     */
+    Optional<User> findSnapshotById(UUID id);
+
+    /**
+     * Writes the given login updates as one JDBC batch, skipping users whose stored generation is not older.
+     */
+    void updateLogins(List<UserStore.LoginUpdate> updates);
+}
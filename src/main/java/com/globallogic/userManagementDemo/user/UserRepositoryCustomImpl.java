@@ -0,0 +1,90 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String SNAPSHOT_QUERY = "select u.id, u.name, u.email, u.password, u.created, u.lastLogin, " +
+            "u.token, u.isActive, u.tokenGeneration, p.id, p.number, p.citycode, p.countrycode " +
+            "from User u left join u.phones p where u.id = :id order by p.id";
+
+    // Older generations are skipped so a late flush cannot undo a newer login or a revocation.
+    private static final String UPDATE_LOGIN_SQL =
+            "update users set last_login = ?, token = ?, token_generation = ? where id = ? and token_generation < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public UserRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public User persist(User user) {
+        entityManager.persist(user);
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public void persistAll(List<User> users) {
+        for (User user : users) {
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findSnapshotById(UUID id) {
+        List<Object[]> rows = entityManager.createQuery(SNAPSHOT_QUERY, Object[].class)
+                .setParameter("id", id)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] first = rows.get(0);
+        User user = new User((UUID) first[0], (String) first[1], (String) first[2], (String) first[3],
+                (LocalDateTime) first[4], (LocalDateTime) first[5], (String) first[6], (Boolean) first[7],
+                (Integer) first[8], null);
+        List<Phone> phones = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[9] != null) {
+                phones.add(new Phone((Long) row[9], (Long) row[10], (Integer) row[11], (String) row[12], user));
+            }
+        }
+        user.setPhones(Collections.unmodifiableList(phones));
+        return Optional.of(user);
+    }
+
+    @Override
+    public void updateLogins(List<UserStore.LoginUpdate> updates) {
+        List<Object[]> batch = new ArrayList<>(updates.size());
+        for (UserStore.LoginUpdate update : updates) {
+            batch.add(new Object[]{Timestamp.valueOf(update.getLastLogin()), update.getToken(),
+                    update.getTokenGeneration(), update.getId(), update.getTokenGeneration()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LOGIN_SQL, batch);
+    }
+}
@@ -1,9 +1,14 @@
 package com.globallogic.userManagementDemo.user;
 
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
 import com.globallogic.userManagementDemo.exception.InvalidPasswordException;
+import com.globallogic.userManagementDemo.exception.InvalidTokenException;
+import com.globallogic.userManagementDemo.exception.TokenRevokedException;
 import com.globallogic.userManagementDemo.exception.UserAlreadyExistsException;
 import com.globallogic.userManagementDemo.exception.UserNotFoundException;
 import com.globallogic.userManagementDemo.security.JwtService;
+import com.globallogic.userManagementDemo.user.UserMetrics.Outcome;
+import com.globallogic.userManagementDemo.user.UserMetrics.Stage;
 import com.globallogic.userManagementDemo.user.domain.Phone;
 import com.globallogic.userManagementDemo.user.domain.User;
 import com.globallogic.userManagementDemo.user.dto.LoginResponse;
@@ -11,49 +16,102 @@ import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
 import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
 import com.globallogic.userManagementDemo.user.mapper.UserMapper;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class    UserService {
 
-    private final UserRepository userRepository;
+    private final UserStore userStore;
     private final UserMapper userMapper;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final EmailFilter emailFilter;
+    private final LoginUpdateBuffer loginUpdateBuffer;
+    private final UserCache userCache;
+    private final UserMetrics userMetrics;
+    private final TokenGenerations tokenGenerations;
+    private final PasswordPolicy passwordPolicy;
+    private final ReadYourWrites readYourWrites;
+    private final boolean statelessLogin;
 
     @Autowired
-    public UserService(UserRepository userRepository, UserMapper userMapper, JwtService jwtService, PasswordEncoder passwordEncoder) {
-        this.userRepository = userRepository;
+    public UserService(UserStore userStore, UserMapper userMapper, JwtService jwtService, PasswordEncoder passwordEncoder,
+                       EmailFilter emailFilter, LoginUpdateBuffer loginUpdateBuffer, UserCache userCache,
+                       UserMetrics userMetrics, TokenGenerations tokenGenerations, PasswordPolicy passwordPolicy,
+                       ReadYourWrites readYourWrites, StatelessLoginProperties statelessLoginProperties) {
+        this.userStore = userStore;
         this.userMapper = userMapper;
         this.jwtService = jwtService;
         this.passwordEncoder = passwordEncoder;
+        this.emailFilter = emailFilter;
+        this.loginUpdateBuffer = loginUpdateBuffer;
+        this.userCache = userCache;
+        this.userMetrics = userMetrics;
+        this.tokenGenerations = tokenGenerations;
+        this.passwordPolicy = passwordPolicy;
+        this.readYourWrites = readYourWrites;
+        this.statelessLogin = statelessLoginProperties.isEnabled();
     }
 
-    //Exactly one uppercase, two numbers, some lowercase letters, max length 12 and min 8.
-    private static final String PASSWORD_REGEX = "^(?=.*[a-z])(?=(?:[^A-Z]*[A-Z]){1}[^A-Z]*$)(?=(?:\\D*\\d){2}\\D*$)[a-zA-Z0-9]{8,12}$";
-    private static final Pattern PASSWORD_PATTERN = Pattern.compile(PASSWORD_REGEX);
-
+    static final String REVOKED_TOKEN_MESSAGE = "JWT token has been revoked or superseded by a newer login.";
+    static final String INVALID_SUBJECT_MESSAGE = "Token subject (user ID) is missing or invalid.";
 
     public SignUpResponse signUp(SignUpRequest request) {
-        if (!isValidPassword(request.getPassword())) {
-            throw new InvalidPasswordException("Invalid password. It must have: Exactly one uppercase, two numbers, some lowercase letters, max length 12 and min 8.");
+        long start = System.nanoTime();
+        try {
+            SignUpResponse response = doSignUp(request);
+            userMetrics.recordSignUp(start, null);
+            return response;
+        } catch (RuntimeException e) {
+            userMetrics.recordSignUp(start, e);
+            throw e;
+        }
+    }
+
+    private SignUpResponse doSignUp(SignUpRequest request) {
+        int passwordViolations = userMetrics.stage(Stage.PASSWORD_VALIDATION).record(() -> passwordPolicy.check(request.getPassword()));
+        if (passwordViolations != 0) {
+            throw new InvalidPasswordException(passwordPolicy.describe(passwordViolations));
         }
 
-        userRepository.findByEmail(request.getEmail()).ifPresent(user -> {
+        if (emailFilter.mightContain(request.getEmail())) {
+            userMetrics.stage(Stage.FIND_BY_EMAIL).record(() -> readYourWrites.read(request.getEmail(), () -> userStore.findByEmail(request.getEmail())))
+                    .ifPresent(user -> {
+                        throw new UserAlreadyExistsException("User with email '" + request.getEmail() + "' already exists.");
+                    });
+            emailFilter.recordFalsePositive();
+        }
+
+        User newUser = createUser(request);
+        User savedUser;
+        try {
+            savedUser = userMetrics.stage(Stage.SAVE).record(() -> userStore.persist(newUser));
+        } catch (DataIntegrityViolationException e) {
             throw new UserAlreadyExistsException("User with email '" + request.getEmail() + "' already exists.");
-        });
+        }
+        emailFilter.add(savedUser.getEmail());
+        readYourWrites.recordWrite(savedUser.getId());
+        readYourWrites.recordWrite(savedUser.getEmail());
+        userCache.invalidate(savedUser.getId());
+
+        return userMetrics.stage(Stage.RESPONSE_MAPPING).record(() -> userMapper.toSignUpResponse(savedUser));
+    }
 
+    User createUser(SignUpRequest request) {
         User newUser = userMapper.toUser(request);
-        newUser.setPassword(passwordEncoder.encode(request.getPassword()));
+        newUser.setId(UUID.randomUUID());
+        newUser.setPassword(userMetrics.stage(Stage.PASSWORD_HASHING).record(() -> passwordEncoder.encode(request.getPassword())));
 
         LocalDateTime now = LocalDateTime.now();
         newUser.setCreated(now);
@@ -70,44 +128,145 @@ public class    UserService {
                     .collect(Collectors.toList());
             newUser.setPhones(phones);
         }
-
-        User savedUser = userRepository.save(newUser);
-        String token = jwtService.generateToken(savedUser.getId().toString());
-        savedUser.setToken(token);
-        savedUser = userRepository.save(savedUser);
-
-        return userMapper.toSignUpResponse(savedUser);
+        newUser.setToken(generateToken(newUser, newUser.getTokenGeneration()));
+        return newUser;
     }
 
     public LoginResponse loginUserByToken(String tokenString) {
-        String userIdFromToken;
+        long start = System.nanoTime();
+        Claims claims;
+        UUID userId;
+        int generation;
         try {
-            userIdFromToken = jwtService.extractSubject(tokenString);
-            if (userIdFromToken == null || userIdFromToken.isEmpty()) {
-                throw new RuntimeException("Token subject (user ID) is missing or invalid.");
+            claims = jwtService.extractClaims(tokenString);
+            userId = subjectOf(claims);
+            generation = generationOf(claims);
+            if (!tokenGenerations.rotate(userId, generation)) {
+                throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
             }
         } catch (RuntimeException e) {
+            userMetrics.recordLogin(start, UserMetrics.tokenOutcome(e));
             throw e;
         }
 
-        User user = userRepository.findById(UUID.fromString(userIdFromToken))
-                .orElseThrow(() -> new UserNotFoundException("User not found for token subject: " + userIdFromToken));
+        try {
+            LoginResponse response = statelessLogin && UserProfileClaims.isPresent(claims)
+                    ? loginStateless(userId, generation + 1, claims)
+                    : login(userId, generation + 1);
+            userMetrics.recordLogin(start, Outcome.SUCCESS);
+            return response;
+        } catch (RuntimeException e) {
+            tokenGenerations.rollback(userId, generation);
+            userMetrics.recordLogin(start, UserMetrics.loginOutcome(e));
+            throw e;
+        }
+    }
 
-        LocalDateTime oldLastLogin = user.getLastLogin();
+    private LoginResponse login(UUID userId, int generation) {
+        User user = userMetrics.stage(Stage.FIND_BY_ID).record(() -> userCache.findById(userId))
+                .orElseThrow(() -> new UserNotFoundException("User not found for token subject: " + userId));
+        if (user.getTokenGeneration() >= generation) {
+            throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
+        }
+
+        LocalDateTime pendingLastLogin = loginUpdateBuffer.pendingLastLogin(user.getId());
+        LocalDateTime oldLastLogin = pendingLastLogin != null ? pendingLastLogin : user.getLastLogin();
+
+        LocalDateTime now = LocalDateTime.now();
+        String newToken = generateToken(user, generation);
 
-        user.setLastLogin(LocalDateTime.now());
-        String newToken = jwtService.generateToken(user.getId().toString());
-        user.setToken(newToken);
-        User updatedUser = userRepository.save(user);
+        userMetrics.stage(Stage.UPDATE_LOGIN).record(() -> {
+            if (loginUpdateBuffer.isEnabled()) {
+                loginUpdateBuffer.enqueue(user.getId(), now, newToken, generation);
+            } else if (userStore.updateLogin(user.getId(), now, newToken, generation) == 0) {
+                throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
+            }
+        });
+        readYourWrites.recordWrite(user.getId());
+        userCache.updateLogin(user.getId(), now, newToken, generation);
 
-        LoginResponse response = userMapper.toLoginResponse(updatedUser);
+        LoginResponse response = userMetrics.stage(Stage.RESPONSE_MAPPING).record(() -> userMapper.toLoginResponse(user));
+        response.setToken(newToken);
         response.setLastLogin(oldLastLogin);
 
         return response;
     }
 
-    private boolean isValidPassword(String password) {
-        Matcher matcher = PASSWORD_PATTERN.matcher(password);
-        return matcher.matches();
+    private LoginResponse loginStateless(UUID id, int generation, Claims claims) {
+        LoginResponse response = userMetrics.stage(Stage.RESPONSE_MAPPING).record(() -> UserProfileClaims.toLoginResponse(id, claims));
+        LocalDateTime pendingLastLogin = loginUpdateBuffer.pendingLastLogin(id);
+        if (pendingLastLogin != null) {
+            response.setLastLogin(pendingLastLogin);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String newToken = jwtService.generateToken(id.toString(), withGeneration(generation, UserProfileClaims.copyOf(claims)));
+
+        userMetrics.stage(Stage.UPDATE_LOGIN).record(() -> loginUpdateBuffer.enqueue(id, now, newToken, generation));
+        userCache.updateLogin(id, now, newToken, generation);
+
+        response.setToken(newToken);
+        return response;
+    }
+
+    /**
+     * Invalidates every token issued to the token's owner so far, including the one presented, and returns a fresh
+     * token of the new generation. Only the current token is accepted, so a superseded or leaked older token cannot
+     * lock the user out.
+     */
+    public SignUpResponse revokeTokens(String tokenString) {
+        Claims claims = jwtService.extractClaims(tokenString);
+        UUID userId = subjectOf(claims);
+        int presented = generationOf(claims);
+        if (tokenGenerations.isSuperseded(userId, presented)) {
+            throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
+        }
+        User user = userCache.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found for token subject: " + userId));
+        if (user.getTokenGeneration() > presented) {
+            throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
+        }
+
+        int generation = tokenGenerations.revoke(userId, presented);
+        if (userStore.revokeTokens(userId, generation) == 0) {
+            throw new TokenRevokedException(REVOKED_TOKEN_MESSAGE);
+        }
+        readYourWrites.recordWrite(userId);
+        userCache.invalidate(userId);
+
+        SignUpResponse response = userMapper.toSignUpResponse(user);
+        response.setToken(generateToken(user, generation));
+        return response;
+    }
+
+    private static UUID subjectOf(Claims claims) {
+        String subject = claims.getSubject();
+        if (subject == null || subject.isEmpty()) {
+            throw new InvalidTokenException(INVALID_SUBJECT_MESSAGE);
+        }
+        try {
+            return UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException(INVALID_SUBJECT_MESSAGE);
+        }
+    }
+
+    private static int generationOf(Claims claims) {
+        Integer generation = claims.get(JwtService.GENERATION_CLAIM, Integer.class);
+        return generation != null ? generation : 0;
+    }
+
+    private String generateToken(User user, int generation) {
+        if (statelessLogin) {
+            return jwtService.generateToken(user.getId().toString(), withGeneration(generation, UserProfileClaims.of(user)));
+        }
+        return jwtService.generateToken(user.getId().toString(), generation);
+    }
+
+    private static Map<String, Object> withGeneration(int generation, Map<String, Object> profile) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(JwtService.GENERATION_CLAIM, generation);
+        claims.putAll(profile);
+        return claims;
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.User;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Storage port used by the user services. {@link UserRepository} implements it on top of JPA; the engines in
+ * {@code user.store} are selected instead with {@code user-store.engine=log} (log-structured, embedded) or
+ * {@code user-store.engine=sharded} (hash-partitioned over several databases).
+ * <p>
+ * Inserting an email that is already registered fails with a
+ * {@link org.springframework.dao.DataIntegrityViolationException}. Login updates and revocations only apply when
+ * {@code tokenGeneration} is newer than the stored one and return the number of users changed.
+ */
+public interface UserStore {
+
+    Optional<User> findByEmail(String email);
+
+    Optional<User> findSnapshotById(UUID id);
+
+    List<String> findExistingEmails(Collection<String> emails);
+
+    Stream<String> streamAllEmails();
+
+    /**
+     * Streams {@code [UUID id, Integer tokenGeneration]} rows for every user.
+     */
+    Stream<Object[]> streamTokenGenerations();
+
+    User persist(User user);
+
+    void persistAll(List<User> users);
+
+    int updateLogin(UUID id, LocalDateTime lastLogin, String token, int tokenGeneration);
+
+    void updateLogins(List<LoginUpdate> updates);
+
+    int revokeTokens(UUID id, int tokenGeneration);
+
+    @Value
+    class LoginUpdate {
+        UUID id;
+        LocalDateTime lastLogin;
+        String token;
+        int tokenGeneration;
+    }
+}
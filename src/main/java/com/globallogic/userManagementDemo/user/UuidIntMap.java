@@ -0,0 +1,207 @@
+package com.globallogic.userManagementDemo.user;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from {@link UUID} to non-negative {@code int}, stored in open-addressing {@code long[]} tables
+ * (24 bytes per entry, no boxing). Keys are spread over independently locked segments; reads are optimistic and only
+ * take the segment's read lock when they race with a write. The nil UUID is reserved to mark empty slots.
+ */
+final class UuidIntMap {
+
+    static final int NO_VALUE = -1;
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int STRIDE = 3;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    UuidIntMap() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    int get(UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        return segmentFor(hash).get(msb, lsb, hash);
+    }
+
+    /**
+     * Sets the value to {@code update} if it currently is {@code expected}, where {@link #NO_VALUE} means the key is
+     * absent.
+     */
+    boolean compareAndSet(UUID key, int expected, int update) {
+        long msb = checkedMsb(key, update);
+        long lsb = key.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.find(msb, lsb, hash);
+            int current = slot >= 0 ? (int) segment.table[slot + 2] : NO_VALUE;
+            if (current != expected) {
+                return false;
+            }
+            segment.put(msb, lsb, hash, update);
+            return true;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the value to {@code value} unless it already is greater.
+     */
+    void putIfGreater(UUID key, int value) {
+        long msb = checkedMsb(key, value);
+        long lsb = key.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.find(msb, lsb, hash);
+            if (slot < 0 || segment.table[slot + 2] < value) {
+                segment.put(msb, lsb, hash, value);
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long checkedMsb(UUID key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        if (key.getMostSignificantBits() == 0 && key.getLeastSignificantBits() == 0) {
+            throw new IllegalArgumentException("The nil UUID is not supported");
+        }
+        return key.getMostSignificantBits();
+    }
+
+    private static long hash(long msb, long lsb) {
+        long hash = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private long[] table = new long[INITIAL_CAPACITY * STRIDE];
+        private int size;
+
+        private int get(long msb, long lsb, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                int value = probe(table, msb, lsb, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return probe(table, msb, lsb, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Safe to call without a lock: a racing write can make the result wrong, but never out of bounds.
+         */
+        private static int probe(long[] table, long msb, long lsb, long hash) {
+            int capacity = table.length / STRIDE;
+            int index = (int) hash & (capacity - 1);
+            for (int probes = 0; probes < capacity; probes++) {
+                int slot = index * STRIDE;
+                long slotMsb = table[slot];
+                long slotLsb = table[slot + 1];
+                if (slotMsb == msb && slotLsb == lsb) {
+                    return (int) table[slot + 2];
+                }
+                if (slotMsb == 0 && slotLsb == 0) {
+                    return NO_VALUE;
+                }
+                index = (index + 1) & (capacity - 1);
+            }
+            return NO_VALUE;
+        }
+
+        private int find(long msb, long lsb, long hash) {
+            int capacity = table.length / STRIDE;
+            int index = (int) hash & (capacity - 1);
+            while (true) {
+                int slot = index * STRIDE;
+                if (table[slot] == msb && table[slot + 1] == lsb) {
+                    return slot;
+                }
+                if (table[slot] == 0 && table[slot + 1] == 0) {
+                    return -1 - slot;
+                }
+                index = (index + 1) & (capacity - 1);
+            }
+        }
+
+        private void put(long msb, long lsb, long hash, int value) {
+            int slot = find(msb, lsb, hash);
+            if (slot >= 0) {
+                table[slot + 2] = value;
+                return;
+            }
+            if ((size + 1) * 4 > (table.length / STRIDE) * 3) {
+                resize();
+                slot = find(msb, lsb, hash);
+            }
+            slot = -1 - slot;
+            table[slot + 2] = value;
+            table[slot + 1] = lsb;
+            table[slot] = msb;
+            size++;
+        }
+
+        private void resize() {
+            long[] old = table;
+            long[] resized = new long[old.length * 2];
+            int capacity = resized.length / STRIDE;
+            for (int slot = 0; slot < old.length; slot += STRIDE) {
+                long msb = old[slot];
+                long lsb = old[slot + 1];
+                if (msb == 0 && lsb == 0) {
+                    continue;
+                }
+                int index = (int) hash(msb, lsb) & (capacity - 1);
+                while (resized[index * STRIDE] != 0 || resized[index * STRIDE + 1] != 0) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                resized[index * STRIDE] = msb;
+                resized[index * STRIDE + 1] = lsb;
+                resized[index * STRIDE + 2] = old[slot + 2];
+            }
+            table = resized;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.globallogic.userManagementDemo.user.domain;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -18,11 +17,6 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(
-            name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
-    )
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -41,12 +35,15 @@ public class User {
     @Column(name = "last_login", nullable = false)
     private LocalDateTime lastLogin;
 
-    @Column(name = "token")
+    @Column(name = "token", length = 4096)
     private String token;
 
     @Column(name = "is_active", nullable = false)
     private Boolean isActive;
 
+    @Column(name = "token_generation", nullable = false)
+    private int tokenGeneration;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Phone> phones;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.globallogic.userManagementDemo.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SignUpBatchResult {
+    private long line;
+    private Integer codigo;
+    private String detail;
+    private SignUpResponse user;
+}
@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Size;
 import java.util.List;
 
 @Data
@@ -21,7 +20,6 @@ public class SignUpRequest {
     private String email;
 
     @NotBlank(message = "Password is required")
-    @Size(min = 8, max = 12, message = "Password must have: Exactly one uppercase, two numbers, some lowercase letters, max length 12 and min 8.")
     private String password;
 
     private List<PhoneRequest> phones;
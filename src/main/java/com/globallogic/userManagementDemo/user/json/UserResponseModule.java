@@ -0,0 +1,233 @@
+package com.globallogic.userManagementDemo.user.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.globallogic.userManagementDemo.user.dto.LoginResponse;
+import com.globallogic.userManagementDemo.user.dto.PhoneResponse;
+import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Dedicated writers for the sign-up and login responses. Spring Boot registers every {@code Module} bean with its
+ * {@code ObjectMapper}, so these replace the bean serializers Jackson would otherwise build for the DTOs: field names
+ * are pre-encoded, dates are formatted without a {@link DateTimeFormatter}, and everything is written straight to the
+ * generator. The output is byte-for-byte what the DTOs' annotations produce.
+ */
+@Component
+public class UserResponseModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CREATED = new SerializedString("created");
+    private static final SerializableString LAST_LOGIN = new SerializedString("lastLogin");
+    private static final SerializableString TOKEN = new SerializedString("token");
+    private static final SerializableString IS_ACTIVE = new SerializedString("isActive");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString PASSWORD = new SerializedString("password");
+    private static final SerializableString PHONES = new SerializedString("phones");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString CITYCODE = new SerializedString("citycode");
+    private static final SerializableString COUNTRYCODE = new SerializedString("countrycode");
+
+    public UserResponseModule() {
+        super(UserResponseModule.class.getSimpleName());
+        addSerializer(new SignUpResponseSerializer());
+        addSerializer(new LoginResponseSerializer());
+        addSerializer(new PhoneResponseSerializer());
+    }
+
+    static final class SignUpResponseSerializer extends StdSerializer<SignUpResponse> {
+
+        SignUpResponseSerializer() {
+            super(SignUpResponse.class);
+        }
+
+        @Override
+        public void serialize(SignUpResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            writeUuid(gen, ID, response.getId());
+            writeDateTime(gen, CREATED, response.getCreated());
+            writeDateTime(gen, LAST_LOGIN, response.getLastLogin());
+            writeString(gen, TOKEN, response.getToken());
+            writeBoolean(gen, IS_ACTIVE, response.getIsActive());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class LoginResponseSerializer extends StdSerializer<LoginResponse> {
+
+        LoginResponseSerializer() {
+            super(LoginResponse.class);
+        }
+
+        @Override
+        public void serialize(LoginResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            writeUuid(gen, ID, response.getId());
+            writeDateTime(gen, CREATED, response.getCreated());
+            writeDateTime(gen, LAST_LOGIN, response.getLastLogin());
+            writeString(gen, TOKEN, response.getToken());
+            writeBoolean(gen, IS_ACTIVE, response.getIsActive());
+            writeString(gen, NAME, response.getName());
+            writeString(gen, EMAIL, response.getEmail());
+            writeString(gen, PASSWORD, response.getPassword());
+            gen.writeFieldName(PHONES);
+            List<PhoneResponse> phones = response.getPhones();
+            if (phones == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(phones, phones.size());
+                for (PhoneResponse phone : phones) {
+                    writePhone(gen, phone);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class PhoneResponseSerializer extends StdSerializer<PhoneResponse> {
+
+        PhoneResponseSerializer() {
+            super(PhoneResponse.class);
+        }
+
+        @Override
+        public void serialize(PhoneResponse phone, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writePhone(gen, phone);
+        }
+    }
+
+    private static void writePhone(JsonGenerator gen, PhoneResponse phone) throws IOException {
+        if (phone == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(phone);
+        gen.writeFieldName(NUMBER);
+        if (phone.getNumber() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(phone.getNumber());
+        }
+        gen.writeFieldName(CITYCODE);
+        if (phone.getCitycode() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(phone.getCitycode());
+        }
+        writeString(gen, COUNTRYCODE, phone.getCountrycode());
+        gen.writeEndObject();
+    }
+
+    private static void writeUuid(JsonGenerator gen, SerializableString name, UUID value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator gen, SerializableString name, Boolean value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            char[] chars = ResponseDateFormat.format(value);
+            gen.writeString(chars, 0, chars.length);
+        }
+    }
+
+    /**
+     * Writes {@code MMM dd, yyyy hh:mm:ss a} in English, the format declared on the response DTOs. The month and
+     * AM/PM texts are taken from the JDK once, so they match what {@link DateTimeFormatter} prints; years outside
+     * {@code 0..9999} fall back to it.
+     */
+    static final class ResponseDateFormat {
+
+        static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm:ss a", Locale.ENGLISH);
+
+        private static final char[][] MONTHS = new char[12][];
+        private static final char[] AM;
+        private static final char[] PM;
+
+        static {
+            DateTimeFormatter month = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+            for (Month m : Month.values()) {
+                MONTHS[m.ordinal()] = month.format(m).toCharArray();
+            }
+            DateTimeFormatter amPm = DateTimeFormatter.ofPattern("a", Locale.ENGLISH);
+            AM = amPm.format(LocalTime.of(0, 0)).toCharArray();
+            PM = amPm.format(LocalTime.of(12, 0)).toCharArray();
+        }
+
+        private ResponseDateFormat() {
+        }
+
+        static char[] format(LocalDateTime value) {
+            int year = value.getYear();
+            if (year < 0 || year > 9999) {
+                return FORMATTER.format(value).toCharArray();
+            }
+            char[] month = MONTHS[value.getMonthValue() - 1];
+            int hour = value.getHour();
+            char[] marker = hour < 12 ? AM : PM;
+            char[] chars = new char[month.length + 19 + marker.length];
+            System.arraycopy(month, 0, chars, 0, month.length);
+            int i = month.length;
+            chars[i++] = ' ';
+            i = twoDigits(chars, i, value.getDayOfMonth());
+            chars[i++] = ',';
+            chars[i++] = ' ';
+            i = twoDigits(chars, i, year / 100);
+            i = twoDigits(chars, i, year % 100);
+            chars[i++] = ' ';
+            i = twoDigits(chars, i, hour % 12 == 0 ? 12 : hour % 12);
+            chars[i++] = ':';
+            i = twoDigits(chars, i, value.getMinute());
+            chars[i++] = ':';
+            i = twoDigits(chars, i, value.getSecond());
+            chars[i++] = ' ';
+            System.arraycopy(marker, 0, chars, i, marker.length);
+            return chars;
+        }
+
+        private static int twoDigits(char[] chars, int i, int value) {
+            chars[i] = (char) ('0' + value / 10);
+            chars[i + 1] = (char) ('0' + value % 10);
+            return i + 2;
+        }
+    }
+}
@@ -17,6 +17,7 @@ public interface UserMapper {
     @Mapping(target = "lastLogin", ignore = true)
     @Mapping(target = "token", ignore = true)
     @Mapping(target = "isActive", ignore = true)
+    @Mapping(target = "tokenGeneration", ignore = true)
     @Mapping(target = "phones", ignore = true)
     User toUser(SignUpRequest request);
 
@@ -0,0 +1,385 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded user store selected with {@code user-store.engine=log}. Every change is appended to a memory-mapped
+ * {@link WriteAheadLog} before it is applied to the in-memory primary (id) and unique (email) indexes, so reads never
+ * touch the disk. Every {@code snapshot-interval} the full state is written to a snapshot and the log segments it
+ * covers are deleted, which compacts away superseded logins. On startup the latest snapshot is loaded and the
+ * remaining segments are replayed.
+ * <p>
+ * Writes are serialized; reads are lock-free. Stored users are immutable copies that are replaced on every change,
+ * so returned users must be treated as read-only.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "user-store", name = "engine", havingValue = "log")
+public class LogUserStore implements UserStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x55534E50;
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final Map<String, UUID> emails = new ConcurrentHashMap<>();
+    private final AtomicLong phoneIds = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Path directory;
+    private final WriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean dirty;
+
+    // Applies records to the indexes, both on replay and after a live write has been appended.
+    private final UserRecords.Handler replay = new UserRecords.Handler() {
+
+        @Override
+        public void put(User user) {
+            index(user);
+        }
+
+        @Override
+        public void login(LoginUpdate update) {
+            users.computeIfPresent(update.getId(),
+                    (id, user) -> copyOf(user, update.getLastLogin(), update.getToken(), update.getTokenGeneration()));
+        }
+
+        @Override
+        public void revoke(UUID id, int tokenGeneration) {
+            users.computeIfPresent(id, (key, user) -> copyOf(user, user.getLastLogin(), null, tokenGeneration));
+        }
+    };
+
+    @Autowired
+    public LogUserStore(UserStoreProperties properties) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.writeAheadLog = new WriteAheadLog(directory, (int) properties.getSegmentSize().toBytes(),
+                properties.isSyncWrites());
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long firstSegment = loadSnapshot();
+            writeAheadLog.open(firstSegment, record -> {
+                UserRecords.decode(record, replay);
+                dirty = true;
+            });
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not recover the user store in " + directory, e);
+        }
+        log.info("User store recovered {} users from {} in {} ms", users.size(), directory.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        UUID id = emails.get(email);
+        return id != null ? Optional.ofNullable(users.get(id)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findSnapshotById(UUID id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> candidates) {
+        return candidates.stream().filter(emails::containsKey).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<String> streamAllEmails() {
+        return emails.keySet().stream();
+    }
+
+    @Override
+    public Stream<Object[]> streamTokenGenerations() {
+        return users.values().stream().map(user -> new Object[]{user.getId(), user.getTokenGeneration()});
+    }
+
+    @Override
+    public User persist(User user) {
+        persistAll(Collections.singletonList(user));
+        return user;
+    }
+
+    /**
+     * Inserts all users or none of them. Every email is checked first and the batch is appended as one log record, so
+     * it is forced to disk once and a failed or torn append leaves neither the log nor the indexes with part of it.
+     * Phone ids are only assigned to the given users once the record is written.
+     */
+    @Override
+    public void persistAll(List<User> newUsers) {
+        if (newUsers.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Set<String> batchEmails = new HashSet<>();
+            for (User user : newUsers) {
+                if (emails.containsKey(user.getEmail()) || !batchEmails.add(user.getEmail())) {
+                    throw new DataIntegrityViolationException("Duplicate email: " + user.getEmail());
+                }
+                if (users.containsKey(user.getId())) {
+                    throw new DataIntegrityViolationException("Duplicate user id: " + user.getId());
+                }
+            }
+            List<User> copies = new ArrayList<>(newUsers.size());
+            long phoneId = phoneIds.get();
+            for (User user : newUsers) {
+                User copy = copyOf(user, user.getLastLogin(), user.getToken(), user.getTokenGeneration());
+                for (Phone phone : copy.getPhones()) {
+                    phone.setId(++phoneId);
+                }
+                copies.add(copy);
+            }
+            append(copies.size() == 1 ? UserRecords.put(copies.get(0)) : UserRecords.putAll(copies));
+            for (int i = 0; i < copies.size(); i++) {
+                User copy = copies.get(i);
+                index(copy);
+                List<Phone> phones = newUsers.get(i).getPhones();
+                for (int j = 0; phones != null && j < phones.size(); j++) {
+                    phones.get(j).setId(copy.getPhones().get(j).getId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int updateLogin(UUID id, LocalDateTime lastLogin, String token, int tokenGeneration) {
+        return applyLogins(Collections.singletonList(new LoginUpdate(id, lastLogin, token, tokenGeneration)));
+    }
+
+    @Override
+    public void updateLogins(List<LoginUpdate> updates) {
+        applyLogins(updates);
+    }
+
+    @Override
+    public int revokeTokens(UUID id, int tokenGeneration) {
+        writeLock.lock();
+        try {
+            User user = users.get(id);
+            if (user == null || user.getTokenGeneration() >= tokenGeneration) {
+                return 0;
+            }
+            append(UserRecords.revoke(id, tokenGeneration));
+            replay.revoke(id, tokenGeneration);
+            return 1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Writes the current state to a new snapshot and deletes the log segments it covers. Writes are only blocked
+     * while the log rolls over to a new segment, not while the snapshot is written.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            List<User> state;
+            long firstSegment;
+            writeLock.lock();
+            try {
+                if (!dirty) {
+                    return;
+                }
+                firstSegment = writeAheadLog.roll();
+                state = new ArrayList<>(users.values());
+                dirty = false;
+            } finally {
+                writeLock.unlock();
+            }
+            writeSnapshot(state, firstSegment);
+            writeAheadLog.deleteBefore(firstSegment);
+            log.debug("User store snapshot written with {} users", state.size());
+        } catch (IOException e) {
+            dirty = true;
+            throw new DataAccessResourceFailureException("Could not write a snapshot of the user store", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        scheduler.shutdown();
+        snapshotQuietly();
+        writeLock.lock();
+        try {
+            writeAheadLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private int applyLogins(List<LoginUpdate> updates) {
+        int updated = 0;
+        writeLock.lock();
+        try {
+            for (LoginUpdate update : updates) {
+                User user = users.get(update.getId());
+                if (user == null || user.getTokenGeneration() >= update.getTokenGeneration()) {
+                    continue;
+                }
+                append(UserRecords.login(update));
+                replay.login(update);
+                updated++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return updated;
+    }
+
+    private void append(byte[] record) {
+        try {
+            writeAheadLog.append(record);
+            dirty = true;
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not append to the user store log", e);
+        }
+    }
+
+    private void index(User user) {
+        users.put(user.getId(), user);
+        emails.put(user.getEmail(), user.getId());
+        if (user.getPhones() != null) {
+            for (Phone phone : user.getPhones()) {
+                phoneIds.accumulateAndGet(phone.getId(), Math::max);
+            }
+        }
+    }
+
+    private long loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a user store snapshot: " + file);
+            }
+            long firstSegment = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] record = new byte[in.readInt()];
+                int crc = in.readInt();
+                in.readFully(record);
+                if (crc(record) != crc) {
+                    throw new IOException("Corrupt record " + i + " in " + file);
+                }
+                UserRecords.decode(ByteBuffer.wrap(record), replay);
+            }
+            return firstSegment;
+        }
+    }
+
+    private void writeSnapshot(List<User> state, long firstSegment) throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(firstSegment);
+            out.writeInt(state.size());
+            for (User user : state) {
+                byte[] record = UserRecords.put(user);
+                out.writeInt(record.length);
+                out.writeInt(crc(record));
+                out.write(record);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Failed to snapshot the user store", e);
+        }
+    }
+
+    private static int crc(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private static User copyOf(User user, LocalDateTime lastLogin, String token, int tokenGeneration) {
+        User copy = new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getCreated(),
+                lastLogin, token, user.getIsActive(), tokenGeneration, null);
+        List<Phone> phones = new ArrayList<>();
+        if (user.getPhones() != null) {
+            for (Phone phone : user.getPhones()) {
+                phones.add(new Phone(phone.getId(), phone.getNumber(), phone.getCitycode(), phone.getCountrycode(), copy));
+            }
+        }
+        copy.setPhones(Collections.unmodifiableList(phones));
+        return copy;
+    }
+}
@@ -0,0 +1,84 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Spreads the buckets of a {@link ShardedUserStore} evenly over its shards, moving as few buckets as possible. After
+ * adding a shard to {@code user-store.shards}, start one instance with {@code user-store.rebalance-on-startup=true}
+ * to move its share of the users over.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user-store", name = "engine", havingValue = "sharded")
+public class ShardRebalancer {
+
+    private final ShardedUserStore store;
+    private final UserStoreProperties properties;
+
+    @Autowired
+    public ShardRebalancer(ShardedUserStore store, UserStoreProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalanceOnStartup() {
+        if (properties.isRebalanceOnStartup()) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Moves buckets from the shards that own more than their share to those that own less. Returns the number of
+     * users moved.
+     */
+    public long rebalance() {
+        int shardCount = store.getShardCount();
+        int bucketCount = store.getBucketCount();
+        List<Deque<Integer>> owned = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            owned.add(new ArrayDeque<>());
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            owned.get(store.ownerOf(bucket)).add(bucket);
+        }
+
+        // The first (bucketCount % shardCount) shards get one extra bucket.
+        Deque<Integer> surplus = new ArrayDeque<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            int share = share(shard, bucketCount, shardCount);
+            while (owned.get(shard).size() > share) {
+                surplus.add(owned.get(shard).removeLast());
+            }
+        }
+        long start = System.nanoTime();
+        int bucketsMoved = 0;
+        long usersMoved = 0;
+        for (int shard = 0; shard < shardCount && !surplus.isEmpty(); shard++) {
+            int share = share(shard, bucketCount, shardCount);
+            while (owned.get(shard).size() < share && !surplus.isEmpty()) {
+                int bucket = surplus.poll();
+                usersMoved += store.moveBucket(bucket, shard, properties.getRebalanceBatchSize());
+                owned.get(shard).add(bucket);
+                bucketsMoved++;
+            }
+        }
+        log.info("Rebalanced {} buckets ({} users) over {} shards in {} ms", bucketsMoved, usersMoved, shardCount,
+                (System.nanoTime() - start) / 1_000_000);
+        return usersMoved;
+    }
+
+    private static int share(int shard, int bucketCount, int shardCount) {
+        return bucketCount / shardCount + (shard < bucketCount % shardCount ? 1 : 0);
+    }
+}
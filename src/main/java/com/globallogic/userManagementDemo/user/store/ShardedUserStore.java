@@ -0,0 +1,570 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * User store selected with {@code user-store.engine=sharded}. Users and their phones are spread over the databases in
+ * {@code user-store.shards}: each user id hashes to one of {@code user-store.buckets} buckets, and every bucket is
+ * owned by one shard. The main datasource holds the directory: the bucket owners ({@code user_buckets}) and an
+ * email-to-id index ({@code user_emails}) whose primary key keeps emails unique across shards.
+ * <p>
+ * The directory and the shards cannot share a transaction, so an insert first claims its emails in the directory,
+ * with a {@code claimed_at} time, and confirms them once the shard insert commits. A crash or a failed cleanup in
+ * between leaves a pending claim with no user behind it, which would block that email forever: new sign-ups fail on
+ * the primary key while lookups by email find nobody. Every {@code user-store.claim-timeout}, starting at startup,
+ * claims pending for longer than that are reconciled: confirmed if the user is on its shard, released otherwise.
+ * Until then the email answers as taken.
+ * <p>
+ * Buckets can be moved to another shard with {@link #moveBucket} while the store is serving; operations on a bucket
+ * wait while it is being moved. These locks are local to the process, so only one instance may run against the same
+ * shards while buckets are moved.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "user-store", name = "engine", havingValue = "sharded")
+public class ShardedUserStore implements UserStore {
+
+    // Phone ids come from a directory sequence in blocks, like phones_seq for JPA, so they stay unique across shards.
+    private static final int PHONE_ID_BLOCK = 50;
+
+    private static final String[] SHARD_SCHEMA = {
+            "create table if not exists users (id uuid primary key, bucket int not null, name varchar(255), " +
+                    "email varchar(255) not null, password varchar(255) not null, created_at timestamp not null, " +
+                    "last_login timestamp not null, token varchar(4096), is_active boolean not null, " +
+                    "token_generation int not null)",
+            "create index if not exists users_bucket on users (bucket)",
+            "create table if not exists phones (id bigint primary key, " +
+                    "user_id uuid not null, phone_number bigint not null, city_code int not null, " +
+                    "country_code varchar(255) not null)",
+            "create index if not exists phones_user on phones (user_id)"
+    };
+
+    private static final String[] DIRECTORY_SCHEMA = {
+            "create table if not exists user_buckets (bucket int primary key, shard int not null)",
+            "create sequence if not exists shard_phones_seq start with 1 increment by " + PHONE_ID_BLOCK,
+            "create table if not exists user_emails (email varchar(255) primary key, user_id uuid not null, " +
+                    "claimed_at timestamp)",
+            "alter table user_emails add column if not exists claimed_at timestamp"
+    };
+
+    private static final String USER_COLUMNS =
+            "u.id, u.name, u.email, u.password, u.created_at, u.last_login, u.token, u.is_active, u.token_generation";
+    private static final String SNAPSHOT_SQL = "select " + USER_COLUMNS + ", p.id, p.phone_number, p.city_code, " +
+            "p.country_code from users u left join phones p on p.user_id = u.id where u.id = ? order by p.id";
+    private static final String INSERT_USER_SQL = "insert into users (id, bucket, name, email, password, created_at, " +
+            "last_login, token, is_active, token_generation) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PHONE_SQL =
+            "insert into phones (id, user_id, phone_number, city_code, country_code) values (?, ?, ?, ?, ?)";
+    // Older generations are skipped so a late flush cannot undo a newer login or a revocation.
+    private static final String UPDATE_LOGIN_SQL =
+            "update users set last_login = ?, token = ?, token_generation = ? where id = ? and token_generation < ?";
+    private static final String REVOKE_SQL =
+            "update users set token = null, token_generation = ? where id = ? and token_generation < ?";
+
+    private static final ResultSetExtractor<User> SNAPSHOT_EXTRACTOR = ShardedUserStore::readSnapshot;
+
+    private final JdbcTemplate directory;
+    private final NamedParameterJdbcTemplate namedDirectory;
+    private final TransactionTemplate directoryTransaction;
+    private final List<Shard> shards = new ArrayList<>();
+    private final AtomicIntegerArray owners;
+    private final ReentrantReadWriteLock[] bucketLocks;
+    private final Duration claimTimeout;
+    private final ScheduledExecutorService reconciler;
+    private long nextPhoneId;
+    private long phoneIdLimit;
+
+    @Autowired
+    public ShardedUserStore(DataSource dataSource, UserStoreProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("user-store.engine=sharded needs at least one user-store.shards entry");
+        }
+        this.directory = new JdbcTemplate(dataSource);
+        this.namedDirectory = new NamedParameterJdbcTemplate(directory);
+        this.directoryTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        for (UserStoreProperties.Shard shard : properties.getShards()) {
+            shards.add(new Shard(DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build()));
+        }
+        int buckets = properties.getBuckets();
+        this.owners = new AtomicIntegerArray(buckets);
+        this.bucketLocks = new ReentrantReadWriteLock[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketLocks[bucket] = new ReentrantReadWriteLock();
+        }
+
+        for (Shard shard : shards) {
+            for (String statement : SHARD_SCHEMA) {
+                shard.jdbc.execute(statement);
+            }
+        }
+        for (String statement : DIRECTORY_SCHEMA) {
+            directory.execute(statement);
+        }
+        loadOwners();
+        log.info("Sharded user store serving {} buckets from {} shards", buckets, shards.size());
+
+        this.claimTimeout = properties.getClaimTimeout();
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-store-claims");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileClaimsQuietly, 0, claimTimeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Bucket of a user id. The mapping is persisted through the bucket owners, so it must never change.
+     */
+    public int bucketOf(UUID id) {
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) owners.length());
+    }
+
+    public int getBucketCount() {
+        return owners.length();
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int ownerOf(int bucket) {
+        return owners.get(bucket);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        List<UUID> ids = directory.queryForList("select user_id from user_emails where email = ?", UUID.class, email);
+        return ids.isEmpty() ? Optional.empty() : findSnapshotById(ids.get(0));
+    }
+
+    @Override
+    public Optional<User> findSnapshotById(UUID id) {
+        int bucket = bucketOf(id);
+        return readLocked(Collections.singleton(bucket), () -> Optional.ofNullable(
+                shards.get(owners.get(bucket)).jdbc.query(SNAPSHOT_SQL, SNAPSHOT_EXTRACTOR, id)));
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return namedDirectory.queryForList("select email from user_emails where email in (:emails)",
+                new MapSqlParameterSource("emails", emails), String.class);
+    }
+
+    @Override
+    public Stream<String> streamAllEmails() {
+        return directory.queryForStream("select email from user_emails", (rs, row) -> rs.getString(1));
+    }
+
+    @Override
+    public Stream<Object[]> streamTokenGenerations() {
+        return shards.stream().flatMap(shard -> shard.jdbc.queryForStream("select id, token_generation from users",
+                (rs, row) -> new Object[]{rs.getObject(1, UUID.class), rs.getInt(2)}));
+    }
+
+    @Override
+    public User persist(User user) {
+        persistAll(Collections.singletonList(user));
+        return user;
+    }
+
+    /**
+     * Claims every email in the directory first, in one transaction, so a duplicate fails the whole batch before
+     * anything reaches a shard. If a shard then fails, the emails of the users that were not stored are released;
+     * the claims of the users that were stored are confirmed.
+     */
+    @Override
+    public void persistAll(List<User> users) {
+        Map<Integer, List<User>> byBucket = users.stream()
+                .collect(Collectors.groupingBy(user -> bucketOf(user.getId()), LinkedHashMap::new, Collectors.toList()));
+        readLocked(byBucket.keySet(), () -> {
+            Timestamp claimedAt = Timestamp.valueOf(LocalDateTime.now());
+            directoryTransaction.executeWithoutResult(status -> directory.batchUpdate(
+                    "insert into user_emails (email, user_id, claimed_at) values (?, ?, ?)",
+                    users.stream().map(user -> new Object[]{user.getEmail(), user.getId(), claimedAt})
+                            .collect(Collectors.toList())));
+            Map<Integer, List<User>> byShard = new LinkedHashMap<>();
+            byBucket.forEach((bucket, bucketUsers) ->
+                    byShard.computeIfAbsent(owners.get(bucket), shard -> new ArrayList<>()).addAll(bucketUsers));
+            List<Integer> pending = new ArrayList<>(byShard.keySet());
+            while (!pending.isEmpty()) {
+                int shard = pending.get(0);
+                try {
+                    shards.get(shard).insert(byShard.get(shard), this::bucketOf, this::nextPhoneId);
+                } catch (RuntimeException e) {
+                    directory.batchUpdate("delete from user_emails where email = ?", pending.stream()
+                            .flatMap(unstored -> byShard.get(unstored).stream())
+                            .map(user -> new Object[]{user.getEmail()})
+                            .collect(Collectors.toList()));
+                    throw e;
+                }
+                confirmClaims(byShard.get(shard));
+                pending.remove(0);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int updateLogin(UUID id, LocalDateTime lastLogin, String token, int tokenGeneration) {
+        int bucket = bucketOf(id);
+        return readLocked(Collections.singleton(bucket), () -> shards.get(owners.get(bucket)).jdbc.update(
+                UPDATE_LOGIN_SQL, Timestamp.valueOf(lastLogin), token, tokenGeneration, id, tokenGeneration));
+    }
+
+    @Override
+    public void updateLogins(List<LoginUpdate> updates) {
+        Map<Integer, List<LoginUpdate>> byBucket = updates.stream()
+                .collect(Collectors.groupingBy(update -> bucketOf(update.getId())));
+        readLocked(byBucket.keySet(), () -> {
+            Map<Integer, List<Object[]>> byShard = new LinkedHashMap<>();
+            byBucket.forEach((bucket, bucketUpdates) -> {
+                List<Object[]> batch = byShard.computeIfAbsent(owners.get(bucket), shard -> new ArrayList<>());
+                for (LoginUpdate update : bucketUpdates) {
+                    batch.add(new Object[]{Timestamp.valueOf(update.getLastLogin()), update.getToken(),
+                            update.getTokenGeneration(), update.getId(), update.getTokenGeneration()});
+                }
+            });
+            byShard.forEach((shard, batch) -> shards.get(shard).jdbc.batchUpdate(UPDATE_LOGIN_SQL, batch));
+            return null;
+        });
+    }
+
+    @Override
+    public int revokeTokens(UUID id, int tokenGeneration) {
+        int bucket = bucketOf(id);
+        return readLocked(Collections.singleton(bucket), () ->
+                shards.get(owners.get(bucket)).jdbc.update(REVOKE_SQL, tokenGeneration, id, tokenGeneration));
+    }
+
+    /**
+     * Copies the users of {@code bucket} to {@code target} in batches of {@code batchSize}, hands the bucket over to
+     * it and deletes the users from the previous owner. Rows left on the target by an interrupted move are deleted
+     * first, so a failed move can simply be run again. Returns the number of users moved.
+     */
+    public int moveBucket(int bucket, int target, int batchSize) {
+        if (target < 0 || target >= shards.size()) {
+            throw new IllegalArgumentException("No shard " + target + "; there are " + shards.size());
+        }
+        Lock lock = bucketLocks[bucket].writeLock();
+        lock.lock();
+        try {
+            int source = owners.get(bucket);
+            if (source == target) {
+                return 0;
+            }
+            Shard from = shards.get(source);
+            Shard to = shards.get(target);
+            to.deleteBucket(bucket);
+            int moved = to.copyBucket(from, bucket, batchSize);
+            directory.update("update user_buckets set shard = ? where bucket = ?", target, bucket);
+            owners.set(bucket, target);
+            from.deleteBucket(bucket);
+            log.info("Moved bucket {} ({} users) from shard {} to shard {}", bucket, moved, source, target);
+            return moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Confirms the pending email claims older than {@code olderThan} whose user is on its shard and releases the
+     * others. Each bucket is locked for writing while its claim is checked, so inserts in flight in this process
+     * finish first. Returns the number of claims released.
+     */
+    public int reconcileClaims(Duration olderThan) {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(olderThan));
+        List<Object[]> claims = directory.query("select email, user_id from user_emails where claimed_at <= ?",
+                (rs, row) -> new Object[]{rs.getString(1), rs.getObject(2, UUID.class)}, cutoff);
+        int released = 0;
+        for (Object[] claim : claims) {
+            UUID id = (UUID) claim[1];
+            int bucket = bucketOf(id);
+            Lock lock = bucketLocks[bucket].writeLock();
+            lock.lock();
+            try {
+                if (shards.get(owners.get(bucket)).contains(id)) {
+                    directory.update("update user_emails set claimed_at = null where email = ? and user_id = ?",
+                            claim[0], id);
+                } else {
+                    released += directory.update("delete from user_emails where email = ? and user_id = ? " +
+                            "and claimed_at is not null", claim[0], id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (released > 0) {
+            log.warn("Released {} email claims with no user behind them", released);
+        }
+        return released;
+    }
+
+    @PreDestroy
+    public void close() {
+        reconciler.shutdownNow();
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private void loadOwners() {
+        directoryTransaction.executeWithoutResult(status -> {
+            List<int[]> rows = directory.query("select bucket, shard from user_buckets",
+                    (rs, row) -> new int[]{rs.getInt(1), rs.getInt(2)});
+            if (rows.isEmpty()) {
+                List<Object[]> initial = new ArrayList<>(owners.length());
+                for (int bucket = 0; bucket < owners.length(); bucket++) {
+                    initial.add(new Object[]{bucket, bucket % shards.size()});
+                }
+                directory.batchUpdate("insert into user_buckets (bucket, shard) values (?, ?)", initial);
+                rows = initial.stream().map(row -> new int[]{(int) row[0], (int) row[1]}).collect(Collectors.toList());
+            }
+            if (rows.size() != owners.length()) {
+                throw new IllegalStateException("The directory has " + rows.size() + " buckets but user-store.buckets is "
+                        + owners.length() + "; the bucket count cannot change once users are stored");
+            }
+            for (int[] row : rows) {
+                if (row[1] >= shards.size()) {
+                    throw new IllegalStateException("Bucket " + row[0] + " is owned by shard " + row[1] + " but only "
+                            + shards.size() + " shards are configured");
+                }
+                owners.set(row[0], row[1]);
+            }
+        });
+    }
+
+    private synchronized long nextPhoneId() {
+        if (nextPhoneId == phoneIdLimit) {
+            nextPhoneId = directory.queryForObject("select next value for shard_phones_seq", Long.class);
+            phoneIdLimit = nextPhoneId + PHONE_ID_BLOCK;
+        }
+        return nextPhoneId++;
+    }
+
+    // A failure here leaves the claims pending; the reconciliation confirms them later.
+    private void confirmClaims(List<User> users) {
+        try {
+            directory.batchUpdate("update user_emails set claimed_at = null where email = ?",
+                    users.stream().map(user -> new Object[]{user.getEmail()}).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            log.warn("Could not confirm {} email claims", users.size(), e);
+        }
+    }
+
+    private void reconcileClaimsQuietly() {
+        try {
+            reconcileClaims(claimTimeout);
+        } catch (RuntimeException e) {
+            log.error("Failed to reconcile the email claims of the user store", e);
+        }
+    }
+
+    // Buckets are locked in ascending order so batches touching several buckets cannot deadlock.
+    private <T> T readLocked(Collection<Integer> buckets, Supplier<T> action) {
+        List<Lock> locks = new ArrayList<>(buckets.size());
+        try {
+            for (int bucket : new TreeSet<>(buckets)) {
+                Lock lock = bucketLocks[bucket].readLock();
+                lock.lock();
+                locks.add(lock);
+            }
+            return action.get();
+        } finally {
+            for (Lock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static User readSnapshot(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        User user = readUser(rs);
+        List<Phone> phones = new ArrayList<>();
+        do {
+            long phoneId = rs.getLong(10);
+            if (!rs.wasNull()) {
+                phones.add(new Phone(phoneId, rs.getLong(11), rs.getInt(12), rs.getString(13), user));
+            }
+        } while (rs.next());
+        user.setPhones(Collections.unmodifiableList(phones));
+        return user;
+    }
+
+    private static User readUser(ResultSet rs) throws SQLException {
+        return new User(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime(), rs.getString(7),
+                rs.getBoolean(8), rs.getInt(9), null);
+    }
+
+    private static final class Shard {
+
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transaction;
+
+        private Shard(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        /**
+         * Inserts the users and then all their phones, each with one batch. Phone ids are only set on the given
+         * users once the transaction commits.
+         */
+        private void insert(List<User> users, ToIntFunction<UUID> buckets, LongSupplier phoneIds) {
+            List<Object[]> phoneRows = new ArrayList<>();
+            for (User user : users) {
+                if (user.getPhones() != null) {
+                    for (Phone phone : user.getPhones()) {
+                        phoneRows.add(new Object[]{phoneIds.getAsLong(), user.getId(), phone.getNumber(),
+                                phone.getCitycode(), phone.getCountrycode()});
+                    }
+                }
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbc.batchUpdate(INSERT_USER_SQL, users.stream()
+                        .map(user -> userRow(user, buckets.applyAsInt(user.getId())))
+                        .collect(Collectors.toList()));
+                if (!phoneRows.isEmpty()) {
+                    jdbc.batchUpdate(INSERT_PHONE_SQL, phoneRows);
+                }
+            });
+            Iterator<Object[]> rows = phoneRows.iterator();
+            for (User user : users) {
+                if (user.getPhones() != null) {
+                    for (Phone phone : user.getPhones()) {
+                        phone.setId((Long) rows.next()[0]);
+                    }
+                }
+            }
+        }
+
+        private boolean contains(UUID id) {
+            return !jdbc.queryForList("select id from users where id = ?", UUID.class, id).isEmpty();
+        }
+
+        private int copyBucket(Shard source, int bucket, int batchSize) {
+            int[] moved = {0};
+            try (Stream<Object[]> users = source.jdbc.queryForStream("select u.id, u.bucket, u.name, u.email, " +
+                    "u.password, u.created_at, u.last_login, u.token, u.is_active, u.token_generation from users u " +
+                    "where u.bucket = ?", (rs, row) -> columns(rs, 10), bucket)) {
+                copyInBatches(users, INSERT_USER_SQL, batchSize, count -> moved[0] += count);
+            }
+            try (Stream<Object[]> phones = source.jdbc.queryForStream("select p.id, p.user_id, p.phone_number, " +
+                    "p.city_code, p.country_code from phones p join users u on p.user_id = u.id where u.bucket = ? " +
+                    "order by p.id", (rs, row) -> columns(rs, 5), bucket)) {
+                copyInBatches(phones, INSERT_PHONE_SQL, batchSize, count -> { });
+            }
+            return moved[0];
+        }
+
+        private void copyInBatches(Stream<Object[]> rows, String sql, int batchSize, IntConsumer copied) {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            rows.forEachOrdered(row -> {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    transaction.executeWithoutResult(status -> jdbc.batchUpdate(sql, batch));
+                    copied.accept(batch.size());
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                transaction.executeWithoutResult(status -> jdbc.batchUpdate(sql, batch));
+                copied.accept(batch.size());
+            }
+        }
+
+        private void deleteBucket(int bucket) {
+            transaction.executeWithoutResult(status -> {
+                jdbc.update("delete from phones where user_id in (select id from users where bucket = ?)", bucket);
+                jdbc.update("delete from users where bucket = ?", bucket);
+            });
+        }
+
+        private void close() {
+            if (dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) dataSource).close();
+                } catch (IOException e) {
+                    log.warn("Could not close shard data source", e);
+                }
+            }
+        }
+
+        private static Object[] userRow(User user, int bucket) {
+            return new Object[]{user.getId(), bucket, user.getName(), user.getEmail(), user.getPassword(),
+                    Timestamp.valueOf(user.getCreated()), Timestamp.valueOf(user.getLastLogin()), user.getToken(),
+                    user.getIsActive(), user.getTokenGeneration()};
+        }
+
+        private static Object[] columns(ResultSet rs, int count) throws SQLException {
+            Object[] row = new Object[count];
+            for (int i = 0; i < count; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary encoding of the records kept in the write-ahead log and in snapshots. Each record starts with its type;
+ * strings are length-prefixed UTF-8 with {@code -1} for {@code null}, and timestamps are UTC epoch seconds plus nanos.
+ */
+final class UserRecords {
+
+    static final byte PUT = 1;
+    static final byte LOGIN = 2;
+    static final byte REVOKE = 3;
+    static final byte PUT_ALL = 4;
+
+    interface Handler {
+
+        void put(User user);
+
+        void login(UserStore.LoginUpdate update);
+
+        void revoke(UUID id, int tokenGeneration);
+    }
+
+    private UserRecords() {
+    }
+
+    static byte[] put(User user) {
+        return encode(PUT, out -> writeUser(out, user));
+    }
+
+    /**
+     * Encodes a batch of new users as a single record, so the log holds either all of them or none.
+     */
+    static byte[] putAll(List<User> users) {
+        return encode(PUT_ALL, out -> {
+            out.writeInt(users.size());
+            for (User user : users) {
+                writeUser(out, user);
+            }
+        });
+    }
+
+    static byte[] login(UserStore.LoginUpdate update) {
+        return encode(LOGIN, out -> {
+            writeUuid(out, update.getId());
+            writeTime(out, update.getLastLogin());
+            writeString(out, update.getToken());
+            out.writeInt(update.getTokenGeneration());
+        });
+    }
+
+    static byte[] revoke(UUID id, int tokenGeneration) {
+        return encode(REVOKE, out -> {
+            writeUuid(out, id);
+            out.writeInt(tokenGeneration);
+        });
+    }
+
+    static void decode(ByteBuffer record, Handler handler) {
+        byte type = record.get();
+        switch (type) {
+            case PUT:
+                handler.put(readUser(record));
+                break;
+            case LOGIN:
+                handler.login(new UserStore.LoginUpdate(readUuid(record), readTime(record), readString(record),
+                        record.getInt()));
+                break;
+            case REVOKE:
+                handler.revoke(readUuid(record), record.getInt());
+                break;
+            case PUT_ALL:
+                for (int count = record.getInt(); count > 0; count--) {
+                    handler.put(readUser(record));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown user store record type " + type);
+        }
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        writeUuid(out, user.getId());
+        writeString(out, user.getName());
+        writeString(out, user.getEmail());
+        writeString(out, user.getPassword());
+        writeTime(out, user.getCreated());
+        writeTime(out, user.getLastLogin());
+        writeString(out, user.getToken());
+        out.writeByte(user.getIsActive() == null ? -1 : user.getIsActive() ? 1 : 0);
+        out.writeInt(user.getTokenGeneration());
+        List<Phone> phones = user.getPhones() != null ? user.getPhones() : Collections.emptyList();
+        out.writeInt(phones.size());
+        for (Phone phone : phones) {
+            out.writeLong(phone.getId());
+            out.writeLong(phone.getNumber());
+            out.writeInt(phone.getCitycode());
+            writeString(out, phone.getCountrycode());
+        }
+    }
+
+    private static User readUser(ByteBuffer record) {
+        User user = new User();
+        user.setId(readUuid(record));
+        user.setName(readString(record));
+        user.setEmail(readString(record));
+        user.setPassword(readString(record));
+        user.setCreated(readTime(record));
+        user.setLastLogin(readTime(record));
+        user.setToken(readString(record));
+        byte active = record.get();
+        user.setIsActive(active < 0 ? null : active == 1);
+        user.setTokenGeneration(record.getInt());
+        int phoneCount = record.getInt();
+        List<Phone> phones = new ArrayList<>(phoneCount);
+        for (int i = 0; i < phoneCount; i++) {
+            phones.add(new Phone(record.getLong(), record.getLong(), record.getInt(), readString(record), user));
+        }
+        user.setPhones(Collections.unmodifiableList(phones));
+        return user;
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(byte type, Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer record) {
+        return new UUID(record.getLong(), record.getLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(ByteBuffer record) {
+        return LocalDateTime.ofEpochSecond(record.getLong(), record.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,33 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-store")
+public class UserStoreProperties {
+    private String engine = "jpa";
+    private String directory = "data/users";
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+    private boolean syncWrites = false;
+    private List<Shard> shards = new ArrayList<>();
+    private int buckets = 1024;
+    private boolean rebalanceOnStartup = false;
+    private int rebalanceBatchSize = 1000;
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
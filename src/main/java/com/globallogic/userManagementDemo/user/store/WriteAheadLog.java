@@ -0,0 +1,171 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of records split into numbered, memory-mapped segment files of a fixed size. Each record is framed
+ * as {@code [length][crc32][payload]}; the length is written last, so a record only becomes visible once it is
+ * complete. A zero length marks the end of a segment; a record larger than a segment gets a segment of its own.
+ * Not thread-safe: callers serialize writes.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncWrites;
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    WriteAheadLog(Path directory, int segmentSize, boolean syncWrites) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Replays the records of every segment numbered {@code firstSegment} or above, in order, and opens the last one
+     * for appending. A torn record at the end of the last segment, left by a crash in the middle of a write, is
+     * discarded; a corrupt record anywhere else fails recovery.
+     */
+    void open(long firstSegment, Consumer<ByteBuffer> replay) throws IOException {
+        List<Long> segments = segments().stream().filter(number -> number >= firstSegment).collect(Collectors.toList());
+        if (segments.isEmpty()) {
+            openSegment(firstSegment, segmentSize);
+            return;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            openSegment(segments.get(i), segmentSize);
+            replay(replay, last);
+            if (!last) {
+                channel.close();
+            }
+        }
+    }
+
+    void append(byte[] payload) throws IOException {
+        int size = HEADER_SIZE + payload.length;
+        if (buffer.remaining() < size) {
+            roll(size);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int position = buffer.position();
+        buffer.position(position + HEADER_SIZE);
+        buffer.put(payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        if (syncWrites) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one. Returns the number of the new segment; every record
+     * appended before the call lives in a lower-numbered segment.
+     */
+    long roll() throws IOException {
+        return roll(segmentSize);
+    }
+
+    private long roll(int minimumSize) throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(segment + 1, minimumSize);
+        return segment;
+    }
+
+    void deleteBefore(long firstSegment) throws IOException {
+        for (long number : segments()) {
+            if (number < firstSegment) {
+                Files.deleteIfExists(path(number));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private void openSegment(long number, int minimumSize) throws IOException {
+        Path path = path(number);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), Math.max(segmentSize, minimumSize));
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment = number;
+    }
+
+    private void replay(Consumer<ByteBuffer> replay, boolean last) throws IOException {
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int position = buffer.position();
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > buffer.remaining() - HEADER_SIZE || crc(position, length) != buffer.getInt(position + 4)) {
+                if (!last) {
+                    throw new IllegalStateException("Corrupt record in " + path(segment) + " at offset " + position);
+                }
+                log.warn("Discarding torn record at offset {} of {}", position, path(segment));
+                for (int i = position; i < buffer.limit(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+                break;
+            }
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+            replay.accept(payload.slice());
+            buffer.position(position + HEADER_SIZE + length);
+        }
+    }
+
+    private int crc(int position, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> numbers = new ArrayList<>();
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> numbers.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()))));
+            numbers.sort(null);
+            return numbers;
+        }
+    }
+
+    private Path path(long number) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, number, SUFFIX));
+    }
+}
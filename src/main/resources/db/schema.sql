@@ -0,0 +1,28 @@
+-- Schema of the JPA entities, used by the fast-start profile (ddl-auto=validate) on an embedded database.
+create sequence if not exists phones_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id varbinary not null,
+    created_at timestamp not null,
+    email varchar(255) not null,
+    is_active boolean not null,
+    last_login timestamp not null,
+    name varchar(255),
+    password varchar(255) not null,
+    token varchar(4096),
+    token_generation integer not null,
+    primary key (id),
+    constraint users_email_unique unique (email)
+);
+
+create table if not exists phones (
+    id bigint not null,
+    city_code integer not null,
+    country_code varchar(255) not null,
+    phone_number bigint not null,
+    user_id varbinary not null,
+    primary key (id),
+    constraint phones_user_fk foreign key (user_id) references users
+);
+
+create index if not exists phones_user on phones (user_id);
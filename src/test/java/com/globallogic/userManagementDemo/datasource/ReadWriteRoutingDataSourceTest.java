@@ -0,0 +1,80 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        // Two independent H2 databases that tell apart where a query ran.
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, List.of(replica)));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactions_GoToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> role()));
+        assertEquals("primary", readWrite.execute(status -> role()));
+        assertEquals("primary", role());
+    }
+
+    @Test
+    void onPrimary_OverridesReadOnlyTransactions() {
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> role())));
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    @Test
+    void readYourWrites_ReadsRecentlyWrittenKeysFromThePrimary() {
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setEnabled(true);
+        properties.getReplicas().add(new DataSourceRoutingProperties.Replica());
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        ReadYourWrites readYourWrites = new ReadYourWrites(properties);
+        UUID written = UUID.randomUUID();
+
+        readYourWrites.recordWrite(written);
+
+        assertEquals("primary", readYourWrites.read(written, () -> readOnly.execute(status -> role())));
+        assertEquals("replica", readYourWrites.read(UUID.randomUUID(), () -> readOnly.execute(status -> role())));
+    }
+
+    private String role() {
+        return jdbcTemplate.queryForObject("select role from node", String.class);
+    }
+
+    private static DataSource database(String role) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + role + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (role varchar(16))");
+        jdbcTemplate.update("insert into node values (?)", role);
+        return dataSource;
+    }
+}
@@ -0,0 +1,96 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatistics Unit Tests")
+class SqlStatisticsTest {
+
+    private SqlStatistics statistics;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        SqlStatsProperties properties = new SqlStatsProperties();
+        properties.setMaxStatements(10);
+        statistics = new SqlStatistics(properties);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlstats" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource = new SqlStatsDataSource(h2, statistics);
+    }
+
+    @Test
+    void shape_ReplacesLiteralsAndCollapsesInLists() {
+        assertEquals("select user0_.id from users user0_ where user0_.email in (?...) and user0_.age > ? limit ?",
+                SqlStatistics.shape("select user0_.id\n    from users user0_\n    where user0_.email in (?, ?, ?)" +
+                        " and user0_.age > 18 limit 10"));
+        assertEquals("update users set name = ? where id = ?",
+                SqlStatistics.shape("update users set name = 'it''s' where id = 42 "));
+        assertEquals(SqlStatistics.shape("select * from users where email in (?)"),
+                SqlStatistics.shape("select * from users where email in (?,?)"));
+    }
+
+    @Test
+    void dataSource_RecordsExecutionsRowsAndErrorsPerShape() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table users (id int primary key, name varchar(20))");
+            try (PreparedStatement insert = connection.prepareStatement("insert into users (id, name) values (?, ?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "user" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            assertEquals(3, statement.executeUpdate("update users set name = 'x' where id >= 0"));
+            assertEquals(0, statement.executeUpdate("update users set name = 'y' where id >= 10"));
+            assertThrows(SQLException.class, () -> statement.executeQuery("select * from missing where id = 1"));
+            assertTrue(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class));
+            assertNotNull(connection.unwrap(org.h2.jdbc.JdbcConnection.class));
+        }
+
+        List<Map<String, Object>> top = statistics.top(10, "count");
+
+        Map<String, Object> update = find(top, "update users set name = ? where id >= ?");
+        assertEquals(2L, update.get("executions"));
+        assertEquals(3L, update.get("rowsAffected"));
+        Map<String, Object> insert = find(top, "insert into users (id, name) values (?, ?)");
+        assertEquals(1L, insert.get("executions"));
+        assertEquals(3L, insert.get("rowsAffected"));
+        assertEquals(1L, find(top, "select * from missing where id = ?").get("errors"));
+        assertEquals(update, top.get(0));
+    }
+
+    @Test
+    void record_CountsShapesOverTheLimitTogether() {
+        for (int i = 0; i < 15; i++) {
+            statistics.record("select * from table" + i, 1_000, 0, false);
+        }
+
+        assertEquals(11, statistics.size());
+        assertEquals(5L, find(statistics.top(20, "count"), SqlStatistics.OTHER).get("executions"));
+
+        statistics.reset();
+
+        assertEquals(0, statistics.size());
+    }
+
+    private static Map<String, Object> find(List<Map<String, Object>> top, String sql) {
+        return top.stream()
+                .filter(statement -> statement.get("sql").equals(sql))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(sql + " not in " + top));
+    }
+}
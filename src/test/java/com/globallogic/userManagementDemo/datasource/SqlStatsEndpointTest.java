@@ -0,0 +1,57 @@
+package com.globallogic.userManagementDemo.datasource;
+
+import com.globallogic.userManagementDemo.exception.ApiErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatsEndpoint Unit Tests")
+class SqlStatsEndpointTest {
+
+    private SqlStatistics statistics;
+    private SqlStatsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new SqlStatistics(new SqlStatsProperties());
+        endpoint = new SqlStatsEndpoint(statistics);
+    }
+
+    @Test
+    void top_DefaultsToTotalTime() {
+        statistics.record("select 1", 1_000, -1, false);
+
+        WebEndpointResponse<Object> response = endpoint.top(null, null);
+
+        assertEquals(200, response.getStatus());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals("total", body.get("sort"));
+        assertEquals(1, body.get("statements"));
+    }
+
+    @Test
+    void top_RejectsUnknownSort() {
+        WebEndpointResponse<Object> response = endpoint.top(5, "slowest");
+
+        assertEquals(400, response.getStatus());
+        assertEquals("Unknown sort 'slowest'; expected one of total, count, mean, p99, max, rows, errors.",
+                detailOf(response));
+    }
+
+    @Test
+    void top_RejectsNegativeLimit() {
+        WebEndpointResponse<Object> response = endpoint.top(-1, "count");
+
+        assertEquals(400, response.getStatus());
+        assertEquals("limit must not be negative.", detailOf(response));
+    }
+
+    private static String detailOf(WebEndpointResponse<Object> response) {
+        return ((ApiErrorResponse) response.getBody()).getError().get(0).getDetail();
+    }
+}
@@ -0,0 +1,126 @@
+package com.globallogic.userManagementDemo.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GlobalExceptionHandler Unit Tests")
+class GlobalExceptionHandlerTest {
+
+    @Mock
+    private ErrorLogSampler errorLogSampler;
+
+    @Mock
+    private WebRequest webRequest;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry, errorLogSampler);
+    }
+
+    @Test
+    void domainExceptions_AreStackless() {
+        assertEquals(0, new UserAlreadyExistsException("duplicate").getStackTrace().length);
+        assertEquals(0, new InvalidPasswordException("invalid").getStackTrace().length);
+        assertEquals(0, new TokenRevokedException("revoked").getStackTrace().length);
+        assertEquals(0, new ExpiredTokenException("expired").getStackTrace().length);
+        assertEquals(0, new InvalidTokenException("invalid").getStackTrace().length);
+    }
+
+    @Test
+    void expiredToken_IsAnswered401WithoutLogging() throws Exception {
+        ResponseEntity<Object> response = handle(new ExpiredTokenException("JWT token has expired"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("Authentication Error: JWT token has expired.", detailOf(response));
+        assertEquals(1, meterRegistry.get("api.errors").tag("status", "401")
+                .tag("exception", "ExpiredTokenException").counter().count());
+        verifyNoInteractions(errorLogSampler);
+    }
+
+    @Test
+    void invalidToken_IsAnswered400WithoutLogging() throws Exception {
+        ResponseEntity<Object> response = handle(new InvalidTokenException("Invalid JWT token: Malformed JWT"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Authentication Error: Invalid JWT token.", detailOf(response));
+        assertEquals(1, meterRegistry.get("api.errors").tag("status", "400")
+                .tag("exception", "InvalidTokenException").counter().count());
+        verifyNoInteractions(errorLogSampler);
+    }
+
+    @Test
+    void expectedErrors_AreCountedWithoutLogging() {
+        ResponseEntity<Object> response = null;
+        for (int i = 0; i < 3; i++) {
+            response = handler.handleUserAlreadyExistsException(new UserAlreadyExistsException("duplicate"), webRequest);
+        }
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(3, meterRegistry.get("api.errors").tag("status", "409")
+                .tag("exception", "UserAlreadyExistsException").counter().count());
+        verifyNoInteractions(errorLogSampler);
+    }
+
+    @Test
+    void unexpectedErrors_AreCountedAndSampled() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(webRequest.getDescription(false)).thenReturn("uri=/sign-up");
+
+        ResponseEntity<Object> response = handler.handleUnhandledException(failure, webRequest);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(1, meterRegistry.get("api.errors").tag("status", "500")
+                .tag("exception", "IllegalStateException").counter().count());
+        verify(errorLogSampler).log(anyString(), eq(failure));
+    }
+
+    /**
+     * Dispatches like Spring MVC does, so the test fails if the exception would fall through to the catch-all.
+     */
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<Object> handle(Exception ex) throws Exception {
+        Method method = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class).resolveMethod(ex);
+        assertNotNull(method);
+        return (ResponseEntity<Object>) method.invoke(handler, ex, webRequest);
+    }
+
+    private static String detailOf(ResponseEntity<Object> response) {
+        return ((ApiErrorResponse) response.getBody()).getError().get(0).getDetail();
+    }
+
+    @Test
+    void errorLogSampler_SuppressesErrorsOverTheRateLimit() {
+        ErrorLoggingProperties properties = new ErrorLoggingProperties();
+        properties.setMaxPerSecond(2);
+        ErrorLogSampler sampler = new ErrorLogSampler(properties);
+
+        for (int i = 0; i < 10; i++) {
+            sampler.log("Unexpected error", new IllegalStateException("boom"));
+        }
+        sampler.shutdown();
+
+        long suppressed = sampler.getSuppressedCount();
+        assertTrue(suppressed >= 8 - 2 && suppressed <= 8, "suppressed " + suppressed);
+    }
+}
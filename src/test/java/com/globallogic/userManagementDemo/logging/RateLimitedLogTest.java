@@ -0,0 +1,62 @@
+package com.globallogic.userManagementDemo.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitedLog Unit Tests")
+class RateLimitedLogTest {
+
+    @Test
+    void log_CountsEntriesOverTheLimitAndReportsThemWithTheNextOneWritten() throws InterruptedException {
+        RateLimitedLog rateLimitedLog = new RateLimitedLog("test-log", 1, 8);
+        List<Long> written = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // The window may roll over during the loop, so the limit is checked through the totals.
+        for (int i = 0; i < 5; i++) {
+            rateLimitedLog.log(written::add);
+        }
+        Thread.sleep(1100);
+        rateLimitedLog.log(skipped -> {
+            written.add(skipped);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        rateLimitedLog.shutdown();
+        long reported = written.stream().mapToLong(Long::longValue).sum();
+        assertEquals(6, written.size() + rateLimitedLog.getSuppressedCount());
+        assertEquals(rateLimitedLog.getSuppressedCount(), reported);
+        assertTrue(rateLimitedLog.getSuppressedCount() >= 3);
+    }
+
+    @Test
+    void log_SuppressesEntriesWhileTheQueueIsFull() throws InterruptedException {
+        RateLimitedLog rateLimitedLog = new RateLimitedLog("test-log", 100, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        rateLimitedLog.log(skipped -> awaitQuietly(release));
+        Thread.sleep(100);
+        rateLimitedLog.log(skipped -> { });
+        rateLimitedLog.log(skipped -> { });
+        release.countDown();
+        rateLimitedLog.shutdown();
+
+        assertEquals(1, rateLimitedLog.getSuppressedCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.globallogic.userManagementDemo.security;
+
+import com.globallogic.userManagementDemo.exception.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private PasswordHashingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        properties.setRetryAfterSeconds(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void encode_DelegatesToWrappedEncoder() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), properties);
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        encoder.shutdown();
+    }
+
+    @Test
+    void warmUp_EncodesOnTheCallingThreadOutsideThePool() {
+        List<String> threads = new ArrayList<>();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(false) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                threads.add(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+        }, properties);
+
+        assertEquals("hashed:secret", encoder.warmUp("secret"));
+        encoder.encode("secret");
+
+        assertEquals(Thread.currentThread().getName(), threads.get(0));
+        assertTrue(threads.get(1).startsWith("password-hashing-"));
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_RejectsWhenPoolAndQueueAreFull() throws InterruptedException {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), properties);
+        callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("queued"));
+        while (encoder.getQueueSize() == 0) {
+            Thread.sleep(5);
+        }
+
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> encoder.encode("rejected"));
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_TimesOutWhenHashingTakesTooLong() throws InterruptedException {
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), properties);
+
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> encoder.encode("slow"));
+
+        assertEquals("Password hashing timed out. Please retry later.", exception.getMessage());
+        encoder.shutdown();
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        private final boolean block;
+
+        private BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            if (block) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.globallogic.userManagementDemo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hs256TokenCodec Unit Tests")
+class Hs256TokenCodecTest {
+
+    private static final String SECRET = "secretKeyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyy";
+
+    private Key secretKey;
+    private JjwtTokenCodec jjwtTokenCodec;
+    private Hs256TokenCodec hs256TokenCodec;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jjwtTokenCodec = new JjwtTokenCodec(secretKey);
+        hs256TokenCodec = new Hs256TokenCodec(secretKey, jjwtTokenCodec);
+        now = System.currentTimeMillis() / 1000;
+    }
+
+    @Test
+    void encode_IsByteCompatibleWithJjwt() {
+        String[] subjects = {
+                UUID.randomUUID().toString(),
+                "",
+                "   ",
+                "quote\" backslash\\ slash/",
+                "control\b\f\n\r\t\u0001\u001f",
+                "ñandú €uro 😀"
+        };
+        for (String subject : subjects) {
+            assertEquals(jjwtTokenCodec.encode(subject, now, now + 3600),
+                    hs256TokenCodec.encode(subject, now, now + 3600), subject);
+        }
+    }
+
+    @Test
+    void encode_WithGenerationIsByteCompatibleWithJjwt() {
+        String subject = UUID.randomUUID().toString();
+        for (int generation : new int[]{0, 7, Integer.MAX_VALUE}) {
+            Map<String, Integer> claims = Collections.singletonMap(JwtService.GENERATION_CLAIM, generation);
+            String token = hs256TokenCodec.encode(subject, now, now + 3600, claims);
+
+            assertEquals(jjwtTokenCodec.encode(subject, now, now + 3600, claims), token);
+            assertEquals(generation, hs256TokenCodec.decode(token).get(JwtService.GENERATION_CLAIM, Integer.class));
+        }
+    }
+
+    @Test
+    void decode_AcceptsTokensIssuedByJjwt() {
+        String subject = UUID.randomUUID().toString();
+        String token = jjwtTokenCodec.encode(subject, now, now + 3600);
+
+        Claims claims = hs256TokenCodec.decode(token);
+
+        assertEquals(subject, claims.getSubject());
+        assertEquals(new Date(now * 1000), claims.getIssuedAt());
+        assertEquals(new Date((now + 3600) * 1000), claims.getExpiration());
+    }
+
+    @Test
+    void decode_DelegatesUnusualPayloadsToJjwt() {
+        String token = Jwts.builder()
+                .setSubject("subject")
+                .setIssuer("issuer")
+                .setExpiration(new Date((now + 3600) * 1000))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        Claims claims = hs256TokenCodec.decode(token);
+
+        assertEquals("subject", claims.getSubject());
+        assertEquals("issuer", claims.getIssuer());
+    }
+
+    @Test
+    void decode_RejectsTamperedSignature() {
+        String token = hs256TokenCodec.encode(UUID.randomUUID().toString(), now, now + 3600);
+        String otherPayload = hs256TokenCodec.encode(UUID.randomUUID().toString(), now, now + 3600).split("\\.")[1];
+        String[] parts = token.split("\\.");
+
+        assertThrows(SignatureException.class, () -> hs256TokenCodec.decode(parts[0] + "." + otherPayload + "." + parts[2]));
+    }
+
+    @Test
+    void decode_RejectsExpiredToken() {
+        String token = hs256TokenCodec.encode(UUID.randomUUID().toString(), now - 7200, now - 3600);
+
+        assertThrows(ExpiredJwtException.class, () -> hs256TokenCodec.decode(token));
+        assertThrows(ExpiredJwtException.class, () -> jjwtTokenCodec.decode(token));
+    }
+
+    @Test
+    void decode_RejectsMalformedToken() {
+        assertThrows(MalformedJwtException.class, () -> hs256TokenCodec.decode("not-a-token"));
+        assertThrows(IllegalArgumentException.class, () -> hs256TokenCodec.decode(""));
+    }
+}
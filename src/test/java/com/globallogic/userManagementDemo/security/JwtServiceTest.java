@@ -0,0 +1,110 @@
+package com.globallogic.userManagementDemo.security;
+
+import com.globallogic.userManagementDemo.exception.ExpiredTokenException;
+import com.globallogic.userManagementDemo.exception.InvalidTokenException;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "secretKeyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyy";
+
+    private JwtProperties jwtProperties;
+    private String subject;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpirationMinutes(60);
+        subject = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void extractSubject_ReturnsSubjectOfGeneratedToken() {
+        JwtService jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+
+        String token = jwtService.generateToken(subject);
+
+        assertEquals(subject, jwtService.extractSubject(token));
+        assertEquals(subject, jwtService.extractSubject(token));
+        assertTrue(jwtService.validateToken(token, subject));
+        assertFalse(jwtService.isTokenExpired(token));
+    }
+
+    @Test
+    void extractSubject_WithoutCache() {
+        jwtProperties.setCacheMaxSize(0);
+        JwtService jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+
+        String token = jwtService.generateToken(subject);
+
+        assertEquals(subject, jwtService.extractSubject(token));
+        assertTrue(jwtService.validateToken(token, subject));
+    }
+
+    @Test
+    void extractSubject_Hs256EngineReadsJjwtTokens() {
+        jwtProperties.setEngine(JwtProperties.Engine.HS256);
+        JwtService hs256JwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+        jwtProperties.setEngine(JwtProperties.Engine.JJWT);
+        JwtService jjwtJwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+
+        assertEquals(subject, hs256JwtService.extractSubject(jjwtJwtService.generateToken(subject)));
+        assertEquals(subject, jjwtJwtService.extractSubject(hs256JwtService.generateToken(subject)));
+    }
+
+    @Test
+    void extractClaims_ReturnsEmbeddedClaims() {
+        jwtProperties.setEngine(JwtProperties.Engine.HS256);
+        JwtService jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("email", "julio@testssw.cl");
+        profile.put("phones", List.of(Map.of("number", 87650009L)));
+
+        Claims claims = jwtService.extractClaims(jwtService.generateToken(subject, profile));
+
+        assertEquals(subject, claims.getSubject());
+        assertEquals("julio@testssw.cl", claims.get("email"));
+        assertEquals(List.of(Map.of("number", 87650009)), claims.get("phones"));
+        assertNotNull(claims.getIssuedAt());
+    }
+
+    @Test
+    void extractSubject_TamperedTokenIsRejectedAfterOriginalWasCached() {
+        JwtService jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(subject);
+        jwtService.extractSubject(token);
+
+        String otherToken = jwtService.generateToken(UUID.randomUUID().toString());
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + otherToken.split("\\.")[1] + "." + parts[2];
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> jwtService.extractSubject(tampered));
+        assertTrue(exception.getMessage().startsWith("Invalid JWT token"));
+        assertFalse(jwtService.validateToken(tampered, subject));
+    }
+
+    @Test
+    void extractSubject_ExpiredToken() {
+        jwtProperties.setExpirationMinutes(-1);
+        JwtService jwtService = new JwtService(jwtProperties, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(subject);
+
+        ExpiredTokenException exception = assertThrows(ExpiredTokenException.class, () -> jwtService.extractSubject(token));
+        assertEquals("JWT token has expired", exception.getMessage());
+        assertTrue(jwtService.isTokenExpired(token));
+        assertFalse(jwtService.validateToken(token, subject));
+    }
+}
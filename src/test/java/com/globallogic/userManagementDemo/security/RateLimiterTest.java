@@ -0,0 +1,132 @@
+package com.globallogic.userManagementDemo.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimiter Unit Tests")
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_AllowsABurstThenRefillsAtTheConfiguredRate() {
+        RateLimiter limiter = new RateLimiter(3, 2, 100, Duration.ofMinutes(1));
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", now));
+        }
+        assertEquals(SECOND / 2, limiter.tryAcquire("10.0.0.1", now));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", now));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", now + SECOND / 2));
+        assertTrue(limiter.tryAcquire("10.0.0.1", now + SECOND / 2) > 0);
+        // A long pause refills the bucket up to its capacity, not beyond.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", now + 60 * SECOND));
+        }
+        assertTrue(limiter.tryAcquire("10.0.0.1", now + 60 * SECOND) > 0);
+    }
+
+    @Test
+    void tryAcquire_NeverAdmitsMoreThanTheCapacityUnderContention() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1_000, 0.001, 100, Duration.ofMinutes(1));
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("10.0.0.1") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, admitted.get());
+    }
+
+    @Test
+    void filter_RejectsWith429BeforeTheRestOfTheChain() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("/login", new RateLimitProperties.Limit(1, 0.5));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitFilter filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+
+        MockFilterChain first = new MockFilterChain();
+        filter.doFilter(login(), new MockHttpServletResponse(), first);
+        MockFilterChain second = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(login(), rejected, second);
+
+        assertNotNull(first.getRequest());
+        assertNull(second.getRequest());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"codigo\":429"));
+        assertEquals(1, meterRegistry.get("rate.limit.rejected").tag("endpoint", "/login").counter().count());
+    }
+
+    @Test
+    void filter_KeysOnlyAllowListedApiKeys() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setKey("api-key");
+        properties.setApiKeys(Set.of("partner-key"));
+        properties.getEndpoints().put("/login", new RateLimitProperties.Limit(1, 0.5));
+        RateLimitFilter filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+
+        assertEquals(200, status(filter, login("partner-key")));
+        assertEquals(429, status(filter, login("partner-key")));
+        // Unknown keys share the bucket of their IP, so a new key per request does not get a fresh bucket.
+        assertEquals(200, status(filter, login("random-1")));
+        assertEquals(429, status(filter, login("random-2")));
+        assertEquals(429, status(filter, login()));
+    }
+
+    private static int status(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest login(String apiKey) {
+        MockHttpServletRequest request = login();
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+
+    private static MockHttpServletRequest login() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
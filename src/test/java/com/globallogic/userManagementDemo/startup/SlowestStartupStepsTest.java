@@ -0,0 +1,33 @@
+package com.globallogic.userManagementDemo.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SlowestStartupSteps Unit Tests")
+class SlowestStartupStepsTest {
+
+    @Test
+    void slowest_RanksStepsByTheirOwnTime() throws InterruptedException {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep parent = startup.start("spring.beans.instantiate").tag("beanName", "userService");
+        StartupStep child = startup.start("spring.beans.instantiate").tag("beanName", "userStore");
+        Thread.sleep(200);
+        child.end();
+        Thread.sleep(20);
+        parent.end();
+        startup.start("spring.beans.instantiate").tag("beanName", "fast").end();
+
+        List<SlowestStartupSteps.Step> steps = SlowestStartupSteps.slowest(startup.getBufferedTimeline(), 2);
+
+        assertEquals(2, steps.size());
+        assertEquals("[beanName=userStore]", steps.get(0).tags);
+        assertEquals("[beanName=userService]", steps.get(1).tags);
+        assertTrue(steps.get(1).selfTime.toMillis() < 200, steps.get(1).selfTime.toString());
+    }
+}
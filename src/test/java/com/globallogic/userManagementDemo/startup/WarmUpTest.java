@@ -0,0 +1,98 @@
+package com.globallogic.userManagementDemo.startup;
+
+import com.globallogic.userManagementDemo.security.JwtProperties;
+import com.globallogic.userManagementDemo.security.JwtService;
+import com.globallogic.userManagementDemo.user.PasswordPolicy;
+import com.globallogic.userManagementDemo.user.PasswordPolicyProperties;
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.mapper.UserMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.validation.Validation;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarmUp Unit Tests")
+class WarmUpTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserStore userStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WarmUpProperties properties;
+    private WarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmUpProperties();
+        properties.setBatchDuration(Duration.ofMillis(5));
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("secretKeyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyy");
+        warmUp = new WarmUp(properties, passwordEncoder, new JwtService(jwtProperties, meterRegistry),
+                userStore, new UserMapperImpl(), Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new PasswordPolicy(new PasswordPolicyProperties()));
+    }
+
+    @Test
+    void warmUp_StopsOnceEveryPathIsStable() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(userStore.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userStore.findSnapshotById(any())).thenReturn(Optional.empty());
+        properties.setTolerance(10);
+        properties.setMaxDuration(Duration.ofMinutes(1));
+
+        long start = System.nanoTime();
+        warmUp.warmUp();
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+        verify(passwordEncoder, atLeast(4)).encode(anyString());
+        verify(userStore, atLeast(4)).findByEmail(anyString());
+        verify(userStore, never()).persist(any());
+        verify(userStore, never()).updateLogin(any(), any(), any(), anyInt());
+        assertEquals(0, meterRegistry.get("jwt.sign").timer().count());
+        meterRegistry.get("jwt.verify").timers().forEach(timer -> assertEquals(0, timer.count()));
+    }
+
+    @Test
+    void warmUp_SkipsFailingPathsAndStopsAtMaxDuration() {
+        when(passwordEncoder.encode(anyString())).thenThrow(new IllegalStateException("pool closed"));
+        when(userStore.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userStore.findSnapshotById(any())).thenReturn(Optional.empty());
+        properties.setTolerance(0);
+        properties.setMaxDuration(Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        warmUp.warmUp();
+
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= Duration.ofMillis(300).toNanos());
+        assertTrue(elapsed < Duration.ofSeconds(10).toNanos());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void warmUp_DoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        warmUp.warmUp();
+
+        verifyNoInteractions(passwordEncoder, userStore);
+    }
+}
@@ -0,0 +1,74 @@
+package com.globallogic.userManagementDemo.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailFilter Unit Tests")
+class EmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private EmailFilterProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmailFilterProperties();
+        properties.setExpectedInsertions(10_000);
+        properties.setFalsePositiveRate(0.01);
+    }
+
+    @Test
+    void mightContain_ReportsEveryEmailUntilWarmedUp() {
+        EmailFilter emailFilter = new EmailFilter(userRepository, properties);
+
+        assertTrue(emailFilter.mightContain("julio@testssw.cl"));
+        assertFalse(emailFilter.isWarmedUp());
+    }
+
+    @Test
+    void mightContain_NeverReturnsFalseForRegisteredEmails() {
+        when(userRepository.streamAllEmails()).thenReturn(IntStream.range(0, 5_000).mapToObj(i -> "user" + i + "@testssw.cl"));
+        EmailFilter emailFilter = new EmailFilter(userRepository, properties);
+        emailFilter.warmUp();
+        emailFilter.add("julio@testssw.cl");
+
+        assertTrue(emailFilter.mightContain("julio@testssw.cl"));
+        IntStream.range(0, 5_000).forEach(i -> assertTrue(emailFilter.mightContain("user" + i + "@testssw.cl")));
+        assertEquals(5_001, emailFilter.getInsertions());
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateStaysNearConfiguredRate() {
+        when(userRepository.streamAllEmails()).thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "user" + i + "@testssw.cl"));
+        EmailFilter emailFilter = new EmailFilter(userRepository, properties);
+        emailFilter.warmUp();
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> emailFilter.mightContain("other" + i + "@testssw.cl"))
+                .count();
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(10_000 - falsePositives, emailFilter.getSkippedLookups());
+    }
+
+    @Test
+    void mightContain_AlwaysTrueWhenDisabled() {
+        properties.setEnabled(false);
+        EmailFilter emailFilter = new EmailFilter(userRepository, properties);
+        emailFilter.warmUp();
+
+        assertTrue(emailFilter.mightContain("julio@testssw.cl"));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,59 @@
+package com.globallogic.userManagementDemo.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordPolicy Unit Tests")
+class PasswordPolicyTest {
+
+    // The pattern the default policy replaces: exactly one uppercase, two digits, some lowercase, 8 to 12 characters.
+    private static final Pattern LEGACY_PATTERN =
+            Pattern.compile("^(?=.*[a-z])(?=(?:[^A-Z]*[A-Z]){1}[^A-Z]*$)(?=(?:\\D*\\d){2}\\D*$)[a-zA-Z0-9]{8,12}$");
+
+    private final PasswordPolicy passwordPolicy = new PasswordPolicy(new PasswordPolicyProperties());
+
+    @Test
+    void check_DefaultPolicyMatchesLegacyPattern() {
+        Random random = new Random(42);
+        String alphabet = "abcXYZ0123!é ";
+        for (int i = 0; i < 100_000; i++) {
+            char[] chars = new char[random.nextInt(15)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String password = new String(chars);
+            assertEquals(LEGACY_PATTERN.matcher(password).matches(), passwordPolicy.isValid(password), password);
+        }
+        assertTrue(passwordPolicy.isValid("a2asfGfdfdf4"));
+    }
+
+    @Test
+    void check_ReportsEveryViolationAtOnce() {
+        int violations = passwordPolicy.check("AB!");
+
+        assertEquals(PasswordPolicy.TOO_SHORT | PasswordPolicy.UPPERCASE | PasswordPolicy.LOWERCASE
+                | PasswordPolicy.DIGITS | PasswordPolicy.INVALID_CHARACTER, violations);
+        assertEquals("Invalid password. It must have between 8 and 12 characters, exactly 1 uppercase letter, "
+                + "at least 1 lowercase letter, exactly 2 digits and only letters and digits.", passwordPolicy.describe(violations));
+    }
+
+    @Test
+    void check_AppliesConfiguredRules() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.setMaxLength(-1);
+        properties.setMaxUppercase(-1);
+        properties.setMinDigits(0);
+        properties.setMaxDigits(-1);
+        properties.setLettersAndDigitsOnly(false);
+        PasswordPolicy relaxed = new PasswordPolicy(properties);
+
+        assertTrue(relaxed.isValid("Correct Horse Battery Staple!"));
+        assertEquals(PasswordPolicy.UPPERCASE, relaxed.check("no uppercase here"));
+        assertEquals("Invalid password. It must have at least 1 uppercase letter.", relaxed.describe(PasswordPolicy.UPPERCASE));
+    }
+}
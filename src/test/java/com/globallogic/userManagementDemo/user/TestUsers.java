@@ -0,0 +1,42 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * New, not yet stored users for the store and cache tests: created and last logged in at {@link #CREATED}, holding a
+ * {@code token-<generation>} token and a phone with city code 7 and country code 25 per number given. A user without
+ * numbers has no phone list, as {@link UserService} creates it.
+ */
+public final class TestUsers {
+
+    public static final LocalDateTime CREATED = LocalDateTime.of(2025, 5, 20, 9, 0, 0, 123_000_000);
+    public static final long PHONE_NUMBER = 87650009L;
+
+    private TestUsers() {
+    }
+
+    public static User user(String email) {
+        return user(UUID.randomUUID(), email, 0, PHONE_NUMBER);
+    }
+
+    public static User user(String email, int tokenGeneration, long... phoneNumbers) {
+        return user(UUID.randomUUID(), email, tokenGeneration, phoneNumbers);
+    }
+
+    public static User user(UUID id, String email, int tokenGeneration, long... phoneNumbers) {
+        User user = new User(id, "Julio Gonzalez", email, "hash", CREATED, CREATED, "token-" + tokenGeneration, true,
+                tokenGeneration, null);
+        if (phoneNumbers.length > 0) {
+            user.setPhones(new ArrayList<>());
+            for (long number : phoneNumbers) {
+                user.getPhones().add(new Phone(null, number, 7, "25", user));
+            }
+        }
+        return user;
+    }
+}
@@ -0,0 +1,120 @@
+package com.globallogic.userManagementDemo.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenGenerations Unit Tests")
+class TokenGenerationsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenGenerations tokenGenerations;
+
+    @BeforeEach
+    void setUp() {
+        tokenGenerations = new TokenGenerations(userRepository);
+    }
+
+    @Test
+    void rotate_AcceptsOnlyTheCurrentGeneration() {
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(tokenGenerations.rotate(userId, 0));
+        assertFalse(tokenGenerations.rotate(userId, 0));
+        assertTrue(tokenGenerations.rotate(userId, 1));
+        assertFalse(tokenGenerations.rotate(userId, 1));
+    }
+
+    @Test
+    void rotate_AcceptsATokenAheadOfTheMap() {
+        UUID userId = UUID.randomUUID();
+        tokenGenerations.rotate(userId, 0);
+
+        // Another instance issued generations 2 and 3 meanwhile.
+        assertTrue(tokenGenerations.rotate(userId, 3));
+        assertFalse(tokenGenerations.rotate(userId, 3));
+        assertFalse(tokenGenerations.rotate(userId, 1));
+        assertTrue(tokenGenerations.rotate(userId, 4));
+    }
+
+    @Test
+    void rotate_AcceptsTokensIssuedAfterTheStoredGenerationAfterRestart() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.streamTokenGenerations()).thenReturn(Stream.<Object[]>of(new Object[]{userId, 2}));
+        tokenGenerations.warmUp();
+
+        // Logins to generations 3 and 4 were buffered and lost in a crash; the client holds a generation 4 token.
+        assertTrue(tokenGenerations.rotate(userId, 4));
+        assertFalse(tokenGenerations.rotate(userId, 2));
+    }
+
+    @Test
+    void rollback_RestoresTheRotatedGeneration() {
+        UUID userId = UUID.randomUUID();
+        tokenGenerations.rotate(userId, 0);
+
+        tokenGenerations.rollback(userId, 0);
+
+        assertTrue(tokenGenerations.rotate(userId, 0));
+    }
+
+    @Test
+    void revoke_RejectsEveryIssuedGeneration() {
+        UUID userId = UUID.randomUUID();
+        tokenGenerations.rotate(userId, 0);
+
+        assertEquals(5, tokenGenerations.revoke(userId, 4));
+        for (int generation = 0; generation < 5; generation++) {
+            assertFalse(tokenGenerations.rotate(userId, generation));
+        }
+        assertTrue(tokenGenerations.rotate(userId, 5));
+    }
+
+    @Test
+    void warmUp_LoadsStoredGenerationsForManyUsers() {
+        List<UUID> userIds = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+        when(userRepository.streamTokenGenerations())
+                .thenReturn(userIds.stream().map(id -> new Object[]{id, 2}));
+
+        tokenGenerations.warmUp();
+
+        assertEquals(userIds.size(), tokenGenerations.size());
+        for (UUID userId : userIds) {
+            assertFalse(tokenGenerations.rotate(userId, 1));
+            assertTrue(tokenGenerations.rotate(userId, 2));
+        }
+    }
+
+    @Test
+    void rotate_LetsOneOfManyConcurrentLoginsWin() {
+        List<UUID> userIds = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+        AtomicInteger rotations = new AtomicInteger();
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (UUID userId : userIds) {
+                if (tokenGenerations.rotate(userId, 0)) {
+                    rotations.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(userIds.size(), rotations.get());
+        assertEquals(userIds.size(), tokenGenerations.size());
+    }
+}
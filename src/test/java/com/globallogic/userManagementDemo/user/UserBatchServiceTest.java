@@ -0,0 +1,263 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.datasource.DataSourceRoutingProperties;
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
+import com.globallogic.userManagementDemo.exception.PasswordHashingUnavailableException;
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
+import com.globallogic.userManagementDemo.user.mapper.UserMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserBatchService Unit Tests")
+class UserBatchServiceTest {
+
+    private static final String VALID_PASSWORD = "a2asfGfdfdf4";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private EmailFilter emailFilter;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private SignUpBatchProperties properties;
+    private UserBatchService userBatchService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SignUpBatchProperties();
+        properties.setParallelism(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (userBatchService != null) {
+            userBatchService.shutdown();
+        }
+    }
+
+    private UserBatchService service() {
+        userBatchService = new UserBatchService(userService, userStore, new UserMapperImpl(), emailFilter,
+                new PasswordPolicy(new PasswordPolicyProperties()),
+                new ReadYourWrites(new DataSourceRoutingProperties()),
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, properties);
+        return userBatchService;
+    }
+
+    private void createUsersFromRequests() {
+        when(userService.createUser(any(SignUpRequest.class))).thenAnswer(invocation -> userFor(invocation.getArgument(0)));
+    }
+
+    private static User userFor(SignUpRequest request) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(request.getEmail());
+        user.setName(request.getName());
+        user.setCreated(LocalDateTime.now());
+        user.setLastLogin(user.getCreated());
+        user.setToken("token-" + request.getEmail());
+        user.setIsActive(true);
+        return user;
+    }
+
+    private static String line(String email) {
+        return "{\"name\":\"n\",\"email\":\"" + email + "\",\"password\":\"" + VALID_PASSWORD + "\"}";
+    }
+
+    private List<JsonNode> run(String... lines) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service().signUp(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), output);
+        return parse(output);
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream output) throws IOException {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    @Test
+    void signUp_ReportsMalformedLinesAndSkipsBlankOnes() throws IOException {
+        createUsersFromRequests();
+
+        List<JsonNode> results = run("", "{not json", "null", "42", "[]", "\"text\"", "   ", line("a@test.cl"));
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 2, results.get(i).get("line").asLong());
+            assertEquals(400, results.get(i).get("codigo").asInt());
+            assertTrue(results.get(i).get("detail").asText().startsWith("Malformed JSON"), results.get(i).toString());
+        }
+        assertEquals(8, results.get(5).get("line").asLong());
+        assertEquals(201, results.get(5).get("codigo").asInt());
+        assertEquals("token-a@test.cl", results.get(5).get("user").get("token").asText());
+        verify(userService, times(1)).createUser(any(SignUpRequest.class));
+    }
+
+    @Test
+    void signUp_RejectsInvalidRecordsBeforeHashing() throws IOException {
+        List<JsonNode> results = run(
+                "{\"name\":\"n\",\"email\":\"not-an-email\",\"password\":\"" + VALID_PASSWORD + "\"}",
+                "{\"name\":\"n\",\"password\":\"" + VALID_PASSWORD + "\"}",
+                "{\"name\":\"n\",\"email\":\"a@test.cl\",\"password\":\"invalidPass\"}");
+
+        assertEquals(3, results.size());
+        assertEquals(400, results.get(0).get("codigo").asInt());
+        assertEquals("Validation Error(s): email: Invalid email format", results.get(0).get("detail").asText());
+        assertEquals("Validation Error(s): email: Email is required", results.get(1).get("detail").asText());
+        assertEquals(400, results.get(2).get("codigo").asInt());
+        assertTrue(results.get(2).get("detail").asText().startsWith("Invalid password."));
+        verifyNoInteractions(userService, userStore);
+    }
+
+    @Test
+    void signUp_RejectsDuplicatesWithinAChunkWithoutQuerying() throws IOException {
+        createUsersFromRequests();
+
+        List<JsonNode> results = run(line("a@test.cl"), line("b@test.cl"), line("a@test.cl"));
+
+        assertEquals(201, results.get(0).get("codigo").asInt());
+        assertEquals(201, results.get(1).get("codigo").asInt());
+        assertEquals(409, results.get(2).get("codigo").asInt());
+        assertEquals("User with email 'a@test.cl' already exists.", results.get(2).get("detail").asText());
+        verify(userStore, never()).findExistingEmails(anyCollection());
+        verify(emailFilter).add("a@test.cl");
+        verify(emailFilter).add("b@test.cl");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void signUp_RejectsEmailsAlreadyInTheStoreWithOneQueryPerChunk() throws IOException {
+        createUsersFromRequests();
+        when(emailFilter.mightContain(anyString())).thenAnswer(invocation -> !"c@test.cl".equals(invocation.getArgument(0)));
+        when(userStore.findExistingEmails(anyCollection())).thenReturn(List.of("a@test.cl"));
+
+        List<JsonNode> results = run(line("a@test.cl"), line("b@test.cl"), line("c@test.cl"));
+
+        assertEquals(409, results.get(0).get("codigo").asInt());
+        assertEquals(201, results.get(1).get("codigo").asInt());
+        assertEquals(201, results.get(2).get("codigo").asInt());
+        ArgumentCaptor<Collection<String>> candidates = ArgumentCaptor.forClass(Collection.class);
+        verify(userStore).findExistingEmails(candidates.capture());
+        assertEquals(2, candidates.getValue().size());
+        assertTrue(candidates.getValue().containsAll(List.of("a@test.cl", "b@test.cl")));
+        verify(emailFilter, never()).add("a@test.cl");
+    }
+
+    @Test
+    void signUp_FallsBackToSingleInsertsWhenTheBatchHitsTheUniqueConstraint() throws IOException {
+        when(userService.createUser(any(SignUpRequest.class))).thenAnswer(invocation -> {
+            User user = userFor(invocation.getArgument(0));
+            Phone phone = new Phone(7L, 87650009L, 7, "25", user);
+            user.setPhones(new ArrayList<>(List.of(phone)));
+            return user;
+        });
+        doThrow(new DataIntegrityViolationException("duplicate")).when(userStore).persistAll(any());
+        when(userStore.persist(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            assertNull(user.getPhones().get(0).getId());
+            if ("b@test.cl".equals(user.getEmail())) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return user;
+        });
+
+        List<JsonNode> results = run(line("a@test.cl"), line("b@test.cl"), line("c@test.cl"));
+
+        assertEquals(201, results.get(0).get("codigo").asInt());
+        assertEquals(409, results.get(1).get("codigo").asInt());
+        assertEquals(201, results.get(2).get("codigo").asInt());
+        verify(userStore, times(3)).persist(any(User.class));
+        verify(emailFilter, never()).add("b@test.cl");
+    }
+
+    @Test
+    void signUp_RetriesHashingWhileTheHashingPoolIsSaturated() throws IOException {
+        PasswordHashingUnavailableException busy = new PasswordHashingUnavailableException("busy", 0);
+        when(userService.createUser(any(SignUpRequest.class)))
+                .thenThrow(busy)
+                .thenAnswer(invocation -> userFor(invocation.getArgument(0)));
+
+        List<JsonNode> results = run(line("a@test.cl"));
+
+        assertEquals(201, results.get(0).get("codigo").asInt());
+        verify(userService, times(2)).createUser(any(SignUpRequest.class));
+    }
+
+    @Test
+    void signUp_ReportsUnavailableOnceHashingAttemptsAreExhausted() throws IOException {
+        properties.setHashingAttempts(2);
+        when(userService.createUser(any(SignUpRequest.class)))
+                .thenThrow(new PasswordHashingUnavailableException("Password hashing is saturated", 0));
+
+        List<JsonNode> results = run(line("a@test.cl"));
+
+        assertEquals(503, results.get(0).get("codigo").asInt());
+        assertEquals("Password hashing is saturated", results.get(0).get("detail").asText());
+        verify(userService, times(2)).createUser(any(SignUpRequest.class));
+        verify(userStore, never()).persistAll(any());
+    }
+
+    @Test
+    void signUp_StreamsEachChunkBeforeReadingTheNext() throws IOException {
+        properties.setChunkSize(2);
+        createUsersFromRequests();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Integer> linesWrittenBefore = new ArrayList<>();
+        doAnswer(invocation -> {
+            chunkSizes.add(invocation.<List<User>>getArgument(0).size());
+            linesWrittenBefore.add(parse(output).size());
+            return null;
+        }).when(userStore).persistAll(any());
+        String input = String.join("\n", line("a@test.cl"), "", line("b@test.cl"), line("c@test.cl"),
+                "{not json", line("d@test.cl"), line("e@test.cl"));
+
+        service().signUp(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(List.of(2, 1, 2), chunkSizes);
+        assertEquals(List.of(0, 2, 4), linesWrittenBefore);
+        List<JsonNode> results = parse(output);
+        assertEquals(6, results.size());
+        long[] lines = results.stream().mapToLong(result -> result.get("line").asLong()).toArray();
+        assertArrayEquals(new long[]{1, 3, 4, 5, 6, 7}, lines);
+    }
+}
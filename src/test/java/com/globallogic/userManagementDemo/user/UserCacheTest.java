@@ -0,0 +1,162 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.datasource.DataSourceRoutingProperties;
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.globallogic.userManagementDemo.user.TestUsers.CREATED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCache Unit Tests")
+class UserCacheTest {
+
+    @Mock
+    private UserStore userStore;
+
+    private UserCache cache(boolean enabled) {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setEnabled(enabled);
+        return new UserCache(userStore, new ReadYourWrites(new DataSourceRoutingProperties()), properties);
+    }
+
+    private static User user(UUID id, int tokenGeneration) {
+        User user = TestUsers.user(id, "julio@test.cl", tokenGeneration, TestUsers.PHONE_NUMBER);
+        user.getPhones().get(0).setId(1L);
+        return user;
+    }
+
+    @Test
+    void findById_ConcurrentMissesShareOneLoad() throws Exception {
+        UUID id = UUID.randomUUID();
+        UserCache userCache = cache(true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(userStore.findSnapshotById(id)).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return Optional.of(user(id, 0));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<User>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> userCache.findById(id)));
+            }
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            release.countDown();
+
+            User first = results.get(0).get(10, TimeUnit.SECONDS).orElseThrow();
+            for (Future<Optional<User>> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, userCache.stats().missCount());
+    }
+
+    @Test
+    void findById_FailedLoadIsRethrownAndNotCached() {
+        UUID id = UUID.randomUUID();
+        UserCache userCache = cache(true);
+        when(userStore.findSnapshotById(id))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(Optional.of(user(id, 0)));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> userCache.findById(id));
+
+        assertEquals("database down", failure.getMessage());
+        assertTrue(userCache.findById(id).isPresent());
+    }
+
+    @Test
+    void updateLogin_UpdatesOnlyCachedSnapshots() {
+        UUID cachedId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        UserCache userCache = cache(true);
+        when(userStore.findSnapshotById(cachedId)).thenReturn(Optional.of(user(cachedId, 0)));
+        User before = userCache.findById(cachedId).orElseThrow();
+        LocalDateTime lastLogin = CREATED.plusDays(1);
+
+        userCache.updateLogin(cachedId, lastLogin, "token-1", 1);
+        userCache.updateLogin(otherId, lastLogin, "token-1", 1);
+
+        User after = userCache.findById(cachedId).orElseThrow();
+        assertEquals(lastLogin, after.getLastLogin());
+        assertEquals("token-1", after.getToken());
+        assertEquals(1, after.getTokenGeneration());
+        assertEquals(1, after.getPhones().size());
+        assertSame(after, after.getPhones().get(0).getUser());
+        assertEquals("token-0", before.getToken());
+        assertEquals(1, userCache.size());
+        verify(userStore).findSnapshotById(cachedId);
+        verify(userStore, never()).findSnapshotById(otherId);
+    }
+
+    @Test
+    void invalidate_AfterSignUpLoadsTheNewUser() {
+        UUID id = UUID.randomUUID();
+        UserCache userCache = cache(true);
+        when(userStore.findSnapshotById(id)).thenReturn(Optional.empty());
+
+        assertTrue(userCache.findById(id).isEmpty());
+        when(userStore.findSnapshotById(id)).thenReturn(Optional.of(user(id, 0)));
+        userCache.invalidate(id);
+
+        assertTrue(userCache.findById(id).isPresent());
+    }
+
+    @Test
+    void invalidate_AfterRevokeReloadsTheStoredGeneration() {
+        UUID id = UUID.randomUUID();
+        UserCache userCache = cache(true);
+        when(userStore.findSnapshotById(id)).thenReturn(Optional.of(user(id, 2)));
+        assertEquals(2, userCache.findById(id).orElseThrow().getTokenGeneration());
+
+        when(userStore.findSnapshotById(id)).thenReturn(Optional.of(user(id, 3)));
+        assertEquals(2, userCache.findById(id).orElseThrow().getTokenGeneration());
+        userCache.invalidate(id);
+
+        assertEquals(3, userCache.findById(id).orElseThrow().getTokenGeneration());
+        verify(userStore, times(2)).findSnapshotById(id);
+    }
+
+    @Test
+    void disabled_ReadsThroughOnEveryCall() {
+        UUID id = UUID.randomUUID();
+        UserCache userCache = cache(false);
+        when(userStore.findSnapshotById(id)).thenReturn(Optional.of(user(id, 0)));
+
+        userCache.findById(id);
+        userCache.findById(id);
+        userCache.updateLogin(id, CREATED, "token-1", 1);
+        userCache.invalidate(id);
+
+        verify(userStore, times(2)).findSnapshotById(id);
+        assertEquals(0, userCache.size());
+        assertEquals(0, userCache.stats().requestCount());
+    }
+}
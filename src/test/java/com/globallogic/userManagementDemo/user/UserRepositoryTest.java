@@ -0,0 +1,104 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.globallogic.userManagementDemo.user.TestUsers.CREATED;
+import static com.globallogic.userManagementDemo.user.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("UserRepository H2 Tests")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findSnapshotById_MapsTheUserAndItsPhonesInInsertionOrder() {
+        User saved = user("phones@test.cl", 3, 87650009L, 12345678L);
+        userRepository.persistAll(List.of(saved));
+
+        User snapshot = userRepository.findSnapshotById(saved.getId()).orElseThrow();
+
+        assertEquals(saved.getId(), snapshot.getId());
+        assertEquals("Julio Gonzalez", snapshot.getName());
+        assertEquals("phones@test.cl", snapshot.getEmail());
+        assertEquals("hash", snapshot.getPassword());
+        assertEquals(CREATED, snapshot.getCreated());
+        assertEquals(CREATED, snapshot.getLastLogin());
+        assertEquals("token-3", snapshot.getToken());
+        assertTrue(snapshot.getIsActive());
+        assertEquals(3, snapshot.getTokenGeneration());
+        assertEquals(2, snapshot.getPhones().size());
+        Phone first = snapshot.getPhones().get(0);
+        assertNotNull(first.getId());
+        assertEquals(87650009L, first.getNumber());
+        assertEquals(7, first.getCitycode());
+        assertEquals("25", first.getCountrycode());
+        assertSame(snapshot, first.getUser());
+        assertEquals(12345678L, snapshot.getPhones().get(1).getNumber());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPhones().clear());
+    }
+
+    @Test
+    void findSnapshotById_HandlesUsersWithoutPhones() {
+        User saved = user("nophones@test.cl", 0);
+        userRepository.persistAll(List.of(saved));
+
+        User snapshot = userRepository.findSnapshotById(saved.getId()).orElseThrow();
+
+        assertEquals("nophones@test.cl", snapshot.getEmail());
+        assertTrue(snapshot.getPhones().isEmpty());
+    }
+
+    @Test
+    void findSnapshotById_ReturnsEmptyForUnknownIds() {
+        assertTrue(userRepository.findSnapshotById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void updateLogins_SkipsUpdatesOlderThanTheStoredGeneration() {
+        User current = user("current@test.cl", 1);
+        User revoked = user("revoked@test.cl", 5);
+        userRepository.persistAll(List.of(current, revoked));
+        LocalDateTime lastLogin = CREATED.plusDays(1);
+
+        userRepository.updateLogins(List.of(
+                new UserStore.LoginUpdate(current.getId(), lastLogin, "token-2", 2),
+                new UserStore.LoginUpdate(revoked.getId(), lastLogin, "token-3", 3),
+                new UserStore.LoginUpdate(current.getId(), lastLogin.minusHours(1), "token-2-late", 2)));
+
+        User updated = userRepository.findSnapshotById(current.getId()).orElseThrow();
+        assertEquals(2, updated.getTokenGeneration());
+        assertEquals("token-2", updated.getToken());
+        assertEquals(lastLogin, updated.getLastLogin());
+        User untouched = userRepository.findSnapshotById(revoked.getId()).orElseThrow();
+        assertEquals(5, untouched.getTokenGeneration());
+        assertEquals("token-5", untouched.getToken());
+        assertEquals(CREATED, untouched.getLastLogin());
+    }
+
+    @Test
+    void updateLoginAndRevokeTokens_ApplyOnlyNewerGenerations() {
+        User saved = user("single@test.cl", 2);
+        userRepository.persistAll(List.of(saved));
+
+        assertEquals(0, userRepository.updateLogin(saved.getId(), CREATED.plusDays(1), "token-2", 2));
+        assertEquals(1, userRepository.updateLogin(saved.getId(), CREATED.plusDays(1), "token-3", 3));
+        assertEquals(0, userRepository.revokeTokens(saved.getId(), 3));
+        assertEquals(1, userRepository.revokeTokens(saved.getId(), 4));
+
+        User snapshot = userRepository.findSnapshotById(saved.getId()).orElseThrow();
+        assertEquals(4, snapshot.getTokenGeneration());
+        assertNull(snapshot.getToken());
+    }
+}
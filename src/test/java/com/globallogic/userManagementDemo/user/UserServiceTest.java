@@ -1,6 +1,11 @@
 package com.globallogic.userManagementDemo.user;
 
+import com.globallogic.userManagementDemo.datasource.DataSourceRoutingProperties;
+import com.globallogic.userManagementDemo.datasource.ReadYourWrites;
+import com.globallogic.userManagementDemo.exception.ExpiredTokenException;
 import com.globallogic.userManagementDemo.exception.InvalidPasswordException;
+import com.globallogic.userManagementDemo.exception.InvalidTokenException;
+import com.globallogic.userManagementDemo.exception.TokenRevokedException;
 import com.globallogic.userManagementDemo.exception.UserAlreadyExistsException;
 import com.globallogic.userManagementDemo.exception.UserNotFoundException;
 import com.globallogic.userManagementDemo.security.JwtService;
@@ -12,8 +17,9 @@ import com.globallogic.userManagementDemo.user.dto.SignUpRequest;
 import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
 import com.globallogic.userManagementDemo.user.mapper.UserMapper;
 
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,16 +29,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -52,6 +64,32 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private EmailFilter emailFilter;
+
+    @Mock
+    private LoginUpdateBuffer loginUpdateBuffer;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private TokenGenerations tokenGenerations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UserMetrics userMetrics = new UserMetrics(meterRegistry);
+
+    @Spy
+    private PasswordPolicy passwordPolicy = new PasswordPolicy(new PasswordPolicyProperties());
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(new DataSourceRoutingProperties());
+
+    @Spy
+    private StatelessLoginProperties statelessLoginProperties = new StatelessLoginProperties();
+
     @InjectMocks
     private UserService userService;
 
@@ -106,6 +144,7 @@ class UserServiceTest {
                 userLastLoginDateTime,
                 token,
                 true,
+                0,
                 Collections.emptyList()
         );
         if (includePhone) {
@@ -121,6 +160,7 @@ class UserServiceTest {
         User savedUserEntity = createValidUser(jwtToken, includePhone);
         SignUpResponse signUpResponseResult = new SignUpResponse(userId, testFixedDateTime, testFixedDateTime, jwtToken, true);
 
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(userMapper.toUser(any(SignUpRequest.class))).thenReturn(userMappedFromRequest);
         when(passwordEncoder.encode(anyString())).thenReturn(encodedPassword);
@@ -133,8 +173,8 @@ class UserServiceTest {
             verify(userMapper, never()).toPhoneList(anyList());
         }
 
-        when(userRepository.save(any(User.class))).thenReturn(savedUserEntity);
-        when(jwtService.generateToken(anyString())).thenReturn(jwtToken);
+        when(userRepository.persist(any(User.class))).thenReturn(savedUserEntity);
+        when(jwtService.generateToken(anyString(), anyInt())).thenReturn(jwtToken);
         when(userMapper.toSignUpResponse(any(User.class))).thenReturn(signUpResponseResult);
     }
 
@@ -158,9 +198,17 @@ class UserServiceTest {
             verify(userMapper).toUser(validUserSignUpRequest);
             verify(passwordEncoder).encode(validUserSignUpRequest.getPassword());
             verify(userMapper).toPhone(validPhoneRequest);
-            verify(userRepository, times(2)).save(any(User.class));
-            verify(jwtService).generateToken(userId.toString());
+            verify(userRepository).persist(userMappedFromRequest);
+            verify(userRepository, never()).save(any(User.class));
+            verify(jwtService).generateToken(userMappedFromRequest.getId().toString(), 0);
             verify(userMapper).toSignUpResponse(any(User.class));
+            verify(userCache).invalidate(userId);
+
+            assertNotNull(userMappedFromRequest.getId());
+            assertEquals(jwtToken, userMappedFromRequest.getToken());
+            assertEquals(encodedPassword, userMappedFromRequest.getPassword());
+            assertEquals(1, userMappedFromRequest.getPhones().size());
+            assertSame(userMappedFromRequest, userMappedFromRequest.getPhones().get(0).getUser());
         }
     }
 
@@ -186,14 +234,50 @@ class UserServiceTest {
             verify(userMapper).toUser(validUserSignUpRequest);
             verify(passwordEncoder).encode(validUserSignUpRequest.getPassword());
             verify(userMapper, never()).toPhone(any(PhoneRequest.class));
-            verify(userRepository, times(2)).save(any(User.class));
-            verify(jwtService).generateToken(userId.toString());
+            verify(userRepository).persist(userMappedFromRequest);
+            verify(userRepository, never()).save(any(User.class));
+            verify(jwtService).generateToken(userMappedFromRequest.getId().toString(), 0);
             verify(userMapper).toSignUpResponse(any(User.class));
         }
     }
 
+    @Test
+    void signUp_SkipsEmailLookupWhenFilterRulesItOut() {
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+        when(userMapper.toUser(any(SignUpRequest.class))).thenReturn(userMappedFromRequest);
+        when(passwordEncoder.encode(anyString())).thenReturn(encodedPassword);
+        when(userMapper.toPhone(any(PhoneRequest.class))).thenReturn(new Phone());
+        when(jwtService.generateToken(anyString(), anyInt())).thenReturn(jwtToken);
+        when(userRepository.persist(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toSignUpResponse(any(User.class))).thenReturn(new SignUpResponse());
+
+        userService.signUp(validUserSignUpRequest);
+
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository).persist(userMappedFromRequest);
+        verify(emailFilter).add(validUserSignUpRequest.getEmail());
+        verify(emailFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    void signUp_ConcurrentDuplicateRejectedByUniqueConstraint() {
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+        when(userMapper.toUser(any(SignUpRequest.class))).thenReturn(userMappedFromRequest);
+        when(passwordEncoder.encode(anyString())).thenReturn(encodedPassword);
+        when(userMapper.toPhone(any(PhoneRequest.class))).thenReturn(new Phone());
+        when(jwtService.generateToken(anyString(), anyInt())).thenReturn(jwtToken);
+        when(userRepository.persist(any(User.class))).thenThrow(new DataIntegrityViolationException("unique email"));
+
+        UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class, () ->
+                userService.signUp(validUserSignUpRequest));
+
+        assertEquals("User with email 'julio@testssw.cl' already exists.", exception.getMessage());
+        verify(emailFilter, never()).add(anyString());
+    }
+
     @Test
     void signUp_UserAlreadyExists() {
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(new User()));
 
         UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class, () ->
@@ -201,6 +285,7 @@ class UserServiceTest {
 
         assertEquals("User with email 'julio@testssw.cl' already exists.", exception.getMessage());
         verify(userRepository).findByEmail(validUserSignUpRequest.getEmail());
+        assertEquals(1, meterRegistry.get("user.signup").tag("outcome", "duplicate").timer().count());
         verifyNoMoreInteractions(passwordEncoder, userRepository, jwtService, userMapper);
     }
 
@@ -211,9 +296,10 @@ class UserServiceTest {
         InvalidPasswordException exception = assertThrows(InvalidPasswordException.class, () ->
                 userService.signUp(validUserSignUpRequest));
 
-        assertEquals("Invalid password. It must have: Exactly one uppercase, two numbers, some lowercase letters, max length 12 and min 8.", exception.getMessage());
+        assertEquals("Invalid password. It must have exactly 2 digits.", exception.getMessage());
         verifyNoInteractions(userRepository, jwtService, userMapper);
         verify(passwordEncoder, never()).encode(anyString());
+        assertEquals(1, meterRegistry.get("user.signup").tag("outcome", "invalid_password").timer().count());
     }
 
     @Test
@@ -223,23 +309,11 @@ class UserServiceTest {
 
             User userBeforeUpdate = createValidUser(jwtToken, false);
 
-            User userAfterUpdateInDb = new User(
-                    userId,
-                    userBeforeUpdate.getName(),
-                    userBeforeUpdate.getEmail(),
-                    userBeforeUpdate.getPassword(),
-                    userBeforeUpdate.getCreated(),
-                    testFixedDateTime,
-                    "new.mock.jwt.token",
-                    true,
-                    userBeforeUpdate.getPhones()
-            );
-
             LoginResponse loginResponseResult = new LoginResponse(
                     userId,
                     userBeforeUpdate.getCreated(),
                     userBeforeUpdate.getLastLogin(),
-                    "new.mock.jwt.token",
+                    jwtToken,
                     true,
                     userBeforeUpdate.getName(),
                     userBeforeUpdate.getEmail(),
@@ -247,10 +321,11 @@ class UserServiceTest {
                     userMapper.toPhoneResponseList(userBeforeUpdate.getPhones())
             );
 
-            when(jwtService.extractSubject(loginJwtToken)).thenReturn(userId.toString());
-            when(userRepository.findById(userId)).thenReturn(Optional.of(userBeforeUpdate));
-            when(jwtService.generateToken(anyString())).thenReturn("new.mock.jwt.token");
-            when(userRepository.save(any(User.class))).thenReturn(userAfterUpdateInDb);
+            when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims().setSubject(userId.toString()));
+            when(tokenGenerations.rotate(userId, 0)).thenReturn(true);
+            when(userCache.findById(userId)).thenReturn(Optional.of(userBeforeUpdate));
+            when(userRepository.updateLogin(userId, testFixedDateTime, "new.mock.jwt.token", 1)).thenReturn(1);
+            when(jwtService.generateToken(anyString(), anyInt())).thenReturn("new.mock.jwt.token");
             when(userMapper.toLoginResponse(any(User.class))).thenReturn(loginResponseResult);
 
             LoginResponse result = userService.loginUserByToken(loginJwtToken);
@@ -261,62 +336,209 @@ class UserServiceTest {
             assertEquals(userLastLoginDateTime, result.getLastLogin());
             assertEquals(userCreationDateTime, result.getCreated());
 
-            verify(jwtService).extractSubject(loginJwtToken);
-            verify(userRepository).findById(userId);
-            verify(jwtService).generateToken(userId.toString());
-            verify(userRepository).save(any(User.class));
+            verify(jwtService).extractClaims(loginJwtToken);
+            verify(userCache).findById(userId);
+            verify(jwtService).generateToken(userId.toString(), 1);
+            verify(userRepository).updateLogin(userId, testFixedDateTime, "new.mock.jwt.token", 1);
+            verify(userCache).updateLogin(userId, testFixedDateTime, "new.mock.jwt.token", 1);
+            verify(tokenGenerations).rotate(userId, 0);
+            verify(userRepository, never()).save(any(User.class));
             verify(userMapper).toLoginResponse(any(User.class));
         }
     }
 
+    @Test
+    void loginUserByToken_WriteBehindDefersUpdate() {
+        try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class)) {
+            mockedStatic.when(LocalDateTime::now).thenReturn(testFixedDateTime);
+
+            User user = createValidUser(jwtToken, false);
+            LocalDateTime pendingLastLogin = testFixedDateTime.minusMinutes(5);
+            LoginResponse loginResponseResult = new LoginResponse(userId, userCreationDateTime, userLastLoginDateTime,
+                    jwtToken, true, user.getName(), user.getEmail(), user.getPassword(), Collections.emptyList());
+
+            when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims().setSubject(userId.toString()));
+            when(tokenGenerations.rotate(userId, 0)).thenReturn(true);
+            when(userCache.findById(userId)).thenReturn(Optional.of(user));
+            when(loginUpdateBuffer.pendingLastLogin(userId)).thenReturn(pendingLastLogin);
+            when(loginUpdateBuffer.isEnabled()).thenReturn(true);
+            when(jwtService.generateToken(anyString(), anyInt())).thenReturn("new.mock.jwt.token");
+            when(userMapper.toLoginResponse(user)).thenReturn(loginResponseResult);
+
+            LoginResponse result = userService.loginUserByToken(loginJwtToken);
+
+            assertEquals("new.mock.jwt.token", result.getToken());
+            assertEquals(pendingLastLogin, result.getLastLogin());
+            assertEquals(jwtToken, user.getToken());
+            assertEquals(userLastLoginDateTime, user.getLastLogin());
+            verify(loginUpdateBuffer).enqueue(userId, testFixedDateTime, "new.mock.jwt.token", 1);
+            verify(userRepository, never()).updateLogin(any(UUID.class), any(LocalDateTime.class), anyString(), anyInt());
+        }
+    }
+
+    @Test
+    void loginUserByToken_StatelessAnswersFromProfileClaims() {
+        statelessLoginProperties.setEnabled(true);
+        UserService statelessUserService = new UserService(userRepository, userMapper, jwtService, passwordEncoder,
+                emailFilter, loginUpdateBuffer, userCache, userMetrics, tokenGenerations, passwordPolicy, readYourWrites, statelessLoginProperties);
+        User user = createValidUser(jwtToken, true);
+        Claims claims = Jwts.claims(UserProfileClaims.of(user))
+                .setSubject(userId.toString())
+                .setIssuedAt(Date.from(userLastLoginDateTime.atZone(ZoneId.systemDefault()).toInstant()));
+
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(claims);
+        when(tokenGenerations.rotate(userId, 0)).thenReturn(true);
+        when(jwtService.generateToken(eq(userId.toString()), anyMap())).thenReturn("new.mock.jwt.token");
+
+        LoginResponse result = statelessUserService.loginUserByToken(loginJwtToken);
+
+        assertEquals(userId, result.getId());
+        assertEquals("new.mock.jwt.token", result.getToken());
+        assertEquals(userCreationDateTime, result.getCreated());
+        assertEquals(userLastLoginDateTime, result.getLastLogin());
+        assertEquals(user.getName(), result.getName());
+        assertEquals(user.getEmail(), result.getEmail());
+        assertTrue(result.getIsActive());
+        assertNull(result.getPassword());
+        assertEquals(1, result.getPhones().size());
+        assertEquals(validPhoneRequest.getNumber(), result.getPhones().get(0).getNumber());
+        assertEquals(validPhoneRequest.getCitycode(), result.getPhones().get(0).getCitycode());
+        assertEquals(validPhoneRequest.getCountrycode(), result.getPhones().get(0).getCountrycode());
+        verify(loginUpdateBuffer).enqueue(eq(userId), any(LocalDateTime.class), eq("new.mock.jwt.token"), eq(1));
+        verifyNoInteractions(userRepository, userMapper);
+        verify(userCache, never()).findById(any(UUID.class));
+    }
 
     @Test
     void loginUserByToken_ExpiredToken() {
-        when(jwtService.extractSubject(loginJwtToken)).thenThrow(new ExpiredJwtException(null, null, "JWT token has expired"));
+        when(jwtService.extractClaims(loginJwtToken)).thenThrow(new ExpiredTokenException("JWT token has expired"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+        ExpiredTokenException exception = assertThrows(ExpiredTokenException.class, () ->
                 userService.loginUserByToken(loginJwtToken));
 
         assertEquals("JWT token has expired", exception.getMessage());
-        verify(jwtService).extractSubject(loginJwtToken);
+        assertEquals(1, meterRegistry.get("user.login").tag("outcome", "expired_token").timer().count());
+        verify(jwtService).extractClaims(loginJwtToken);
         verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder);
     }
 
     @Test
     void loginUserByToken_InvalidToken() {
-        when(jwtService.extractSubject(loginJwtToken)).thenThrow(new MalformedJwtException("Invalid JWT token: Malformed JWT"));
+        when(jwtService.extractClaims(loginJwtToken)).thenThrow(new InvalidTokenException("Invalid JWT token: Malformed JWT"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () ->
                 userService.loginUserByToken(loginJwtToken));
 
         assertTrue(exception.getMessage().startsWith("Invalid JWT token: Malformed JWT"));
-        verify(jwtService).extractSubject(loginJwtToken);
+        assertEquals(1, meterRegistry.get("user.login").tag("outcome", "bad_token").timer().count());
+        verify(jwtService).extractClaims(loginJwtToken);
         verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder);
     }
 
     @Test
     void loginUserByToken_UserNotFound() {
-        when(jwtService.extractSubject(loginJwtToken)).thenReturn(userId.toString());
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims().setSubject(userId.toString()));
+        when(tokenGenerations.rotate(userId, 0)).thenReturn(true);
+        when(userCache.findById(userId)).thenReturn(Optional.empty());
 
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () ->
                 userService.loginUserByToken(loginJwtToken));
 
         assertEquals("User not found for token subject: " + userId.toString(), exception.getMessage());
-        verify(jwtService).extractSubject(loginJwtToken);
-        verify(userRepository).findById(userId);
+        verify(tokenGenerations).rollback(userId, 0);
+        verify(jwtService).extractClaims(loginJwtToken);
+        verify(userCache).findById(userId);
         verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder);
     }
 
     @Test
     void loginUserByToken_NullOrEmptySubject() {
-        when(jwtService.extractSubject(loginJwtToken)).thenReturn(null);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims());
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () ->
                 userService.loginUserByToken(loginJwtToken));
 
         assertEquals("Token subject (user ID) is missing or invalid.", exception.getMessage());
-        verify(jwtService).extractSubject(loginJwtToken);
+        assertEquals(1, meterRegistry.get("user.login").tag("outcome", "bad_token").timer().count());
+        verify(jwtService).extractClaims(loginJwtToken);
         verifyNoMoreInteractions(userRepository, userMapper, passwordEncoder);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loginUserByToken_SupersededTokenRejectedWithoutLookup() {
+        Claims claims = Jwts.claims().setSubject(userId.toString());
+        claims.put(JwtService.GENERATION_CLAIM, 3);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(claims);
+        when(tokenGenerations.rotate(userId, 3)).thenReturn(false);
+
+        TokenRevokedException exception = assertThrows(TokenRevokedException.class, () ->
+                userService.loginUserByToken(loginJwtToken));
+
+        assertEquals(UserService.REVOKED_TOKEN_MESSAGE, exception.getMessage());
+        assertEquals(1, meterRegistry.get("user.login").tag("outcome", "revoked_token").timer().count());
+        verifyNoInteractions(userRepository, userCache, loginUpdateBuffer);
+    }
+
+    @Test
+    void revokeTokens_MovesPastStoredGenerationAndIssuesFreshToken() {
+        User user = createValidUser(jwtToken, false);
+        user.setTokenGeneration(4);
+        Claims claims = Jwts.claims().setSubject(userId.toString());
+        claims.put(JwtService.GENERATION_CLAIM, 4);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(claims);
+        when(userCache.findById(userId)).thenReturn(Optional.of(user));
+        when(tokenGenerations.revoke(userId, 4)).thenReturn(5);
+        when(userRepository.revokeTokens(userId, 5)).thenReturn(1);
+        when(userMapper.toSignUpResponse(user)).thenReturn(new SignUpResponse(userId, userCreationDateTime,
+                userLastLoginDateTime, jwtToken, true));
+        when(jwtService.generateToken(userId.toString(), 5)).thenReturn("new.mock.jwt.token");
+
+        SignUpResponse result = userService.revokeTokens(loginJwtToken);
+
+        assertEquals("new.mock.jwt.token", result.getToken());
+        assertEquals(userId, result.getId());
+        verify(userRepository).revokeTokens(userId, 5);
+        verify(userCache).invalidate(userId);
+    }
+
+    @Test
+    void revokeTokens_RejectsTokenSupersededInMemory() {
+        Claims claims = Jwts.claims().setSubject(userId.toString());
+        claims.put(JwtService.GENERATION_CLAIM, 2);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(claims);
+        when(tokenGenerations.isSuperseded(userId, 2)).thenReturn(true);
+
+        TokenRevokedException exception = assertThrows(TokenRevokedException.class, () ->
+                userService.revokeTokens(loginJwtToken));
+
+        assertEquals(UserService.REVOKED_TOKEN_MESSAGE, exception.getMessage());
+        verify(tokenGenerations, never()).revoke(any(UUID.class), anyInt());
+        verifyNoInteractions(userRepository, userCache);
+    }
+
+    @Test
+    void revokeTokens_RejectsTokenOlderThanStoredGeneration() {
+        User user = createValidUser(jwtToken, false);
+        user.setTokenGeneration(4);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims().setSubject(userId.toString()));
+        when(userCache.findById(userId)).thenReturn(Optional.of(user));
+
+        assertThrows(TokenRevokedException.class, () -> userService.revokeTokens(loginJwtToken));
+
+        verify(tokenGenerations, never()).revoke(any(UUID.class), anyInt());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revokeTokens_RejectedWhenStoreHasMovedOn() {
+        User user = createValidUser(jwtToken, false);
+        when(jwtService.extractClaims(loginJwtToken)).thenReturn(Jwts.claims().setSubject(userId.toString()));
+        when(userCache.findById(userId)).thenReturn(Optional.of(user));
+        when(tokenGenerations.revoke(userId, 0)).thenReturn(1);
+        when(userRepository.revokeTokens(userId, 1)).thenReturn(0);
+
+        assertThrows(TokenRevokedException.class, () -> userService.revokeTokens(loginJwtToken));
+
+        verify(jwtService, never()).generateToken(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,204 @@
+package com.globallogic.userManagementDemo.user;
+
+import com.globallogic.userManagementDemo.user.domain.Phone;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.globallogic.userManagementDemo.user.TestUsers.CREATED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link UserStore} engine has to share with the JPA backend. Each engine extends this class and
+ * supplies a store; emails are unique per test so engines backed by a shared database need no cleanup between tests.
+ */
+public abstract class UserStoreContractTest {
+
+    private final String domain = "@" + UUID.randomUUID().toString().substring(0, 8) + ".cl";
+
+    protected abstract UserStore store();
+
+    /**
+     * Runs a read that streams from the store. The services stream inside a read-only transaction, which JPA needs.
+     */
+    protected <T> T readOnly(Supplier<T> work) {
+        return work.get();
+    }
+
+    private String email(String local) {
+        return local + domain;
+    }
+
+    private User user(String local, int tokenGeneration, long... phoneNumbers) {
+        return TestUsers.user(email(local), tokenGeneration, phoneNumbers);
+    }
+
+    @Test
+    public void persist_StoresTheUserAndItsPhonesInInsertionOrder() {
+        User user = user("julio", 3, 87650009L, 12345678L);
+
+        store().persist(user);
+
+        User stored = store().findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(user.getId(), stored.getId());
+        assertEquals("Julio Gonzalez", stored.getName());
+        assertEquals(email("julio"), stored.getEmail());
+        assertEquals("hash", stored.getPassword());
+        assertEquals(CREATED, stored.getCreated());
+        assertEquals(CREATED, stored.getLastLogin());
+        assertEquals("token-3", stored.getToken());
+        assertTrue(stored.getIsActive());
+        assertEquals(3, stored.getTokenGeneration());
+        assertEquals(2, stored.getPhones().size());
+        Phone first = stored.getPhones().get(0);
+        assertNotNull(first.getId());
+        assertEquals(87650009L, first.getNumber());
+        assertEquals(7, first.getCitycode());
+        assertEquals("25", first.getCountrycode());
+        assertEquals(12345678L, stored.getPhones().get(1).getNumber());
+        assertNotNull(user.getPhones().get(0).getId(), "persist assigns phone ids on the given user");
+        assertEquals(user.getId(), store().findByEmail(email("julio")).orElseThrow().getId());
+    }
+
+    @Test
+    public void persist_StoresUsersWithoutPhones() {
+        User user = user("nophones", 0);
+
+        store().persist(user);
+
+        assertTrue(store().findSnapshotById(user.getId()).orElseThrow().getPhones().isEmpty());
+    }
+
+    @Test
+    public void find_ReturnsEmptyForUnknownUsers() {
+        assertTrue(store().findSnapshotById(UUID.randomUUID()).isEmpty());
+        assertTrue(store().findByEmail(email("unknown")).isEmpty());
+    }
+
+    @Test
+    public void persistAll_StoresEveryUser() {
+        List<User> users = List.of(user("a", 0, 87650009L), user("b", 0), user("c", 0, 87650009L, 12345678L));
+
+        store().persistAll(users);
+
+        for (User user : users) {
+            assertEquals(user.getEmail(), store().findSnapshotById(user.getId()).orElseThrow().getEmail());
+        }
+        assertEquals(Set.of(email("a"), email("c")),
+                Set.copyOf(store().findExistingEmails(List.of(email("a"), email("c"), email("d")))));
+        assertTrue(store().findExistingEmails(List.of(email("d"))).isEmpty());
+    }
+
+    @Test
+    public void persist_RejectsARegisteredEmail() {
+        store().persist(user("taken", 0));
+        User duplicate = user("taken", 0);
+
+        assertThrows(DataIntegrityViolationException.class, () -> store().persist(duplicate));
+
+        assertTrue(store().findSnapshotById(duplicate.getId()).isEmpty());
+    }
+
+    @Test
+    public void persistAll_RejectsARegisteredEmailWithoutWritingAnything() {
+        store().persist(user("taken", 0));
+        User fresh = user("fresh", 0, 87650009L);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().persistAll(List.of(fresh, user("taken", 0))));
+
+        assertTrue(store().findSnapshotById(fresh.getId()).isEmpty());
+        assertTrue(store().findByEmail(email("fresh")).isEmpty());
+    }
+
+    @Test
+    public void persistAll_RejectsDuplicatesWithinTheBatch() {
+        User first = user("twice", 0);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().persistAll(List.of(first, user("twice", 0))));
+
+        assertTrue(store().findSnapshotById(first.getId()).isEmpty());
+    }
+
+    @Test
+    public void updateLoginAndRevokeTokens_ApplyOnlyNewerGenerations() {
+        User user = user("single", 2);
+        store().persist(user);
+        LocalDateTime lastLogin = CREATED.plusDays(1);
+
+        assertEquals(0, store().updateLogin(user.getId(), lastLogin, "token-2", 2));
+        assertEquals(1, store().updateLogin(user.getId(), lastLogin, "token-3", 3));
+        User updated = store().findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(3, updated.getTokenGeneration());
+        assertEquals("token-3", updated.getToken());
+        assertEquals(lastLogin, updated.getLastLogin());
+
+        assertEquals(0, store().revokeTokens(user.getId(), 3));
+        assertEquals(1, store().revokeTokens(user.getId(), 4));
+        User revoked = store().findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(4, revoked.getTokenGeneration());
+        assertNull(revoked.getToken());
+        assertEquals(0, store().updateLogin(user.getId(), lastLogin.plusDays(1), "token-4", 4));
+    }
+
+    @Test
+    public void updateLoginAndRevokeTokens_ChangeNothingForUnknownUsers() {
+        assertEquals(0, store().updateLogin(UUID.randomUUID(), CREATED, "token-1", 1));
+        assertEquals(0, store().revokeTokens(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    public void updateLogins_SkipsUpdatesOlderThanTheStoredGeneration() {
+        User current = user("current", 1);
+        User revoked = user("revoked", 5);
+        store().persistAll(List.of(current, revoked));
+        LocalDateTime lastLogin = CREATED.plusDays(1);
+
+        store().updateLogins(List.of(
+                new UserStore.LoginUpdate(current.getId(), lastLogin, "token-2", 2),
+                new UserStore.LoginUpdate(revoked.getId(), lastLogin, "token-3", 3),
+                new UserStore.LoginUpdate(current.getId(), lastLogin.minusHours(1), "token-2-late", 2),
+                new UserStore.LoginUpdate(UUID.randomUUID(), lastLogin, "token-1", 1)));
+
+        User updated = store().findSnapshotById(current.getId()).orElseThrow();
+        assertEquals(2, updated.getTokenGeneration());
+        assertEquals("token-2", updated.getToken());
+        assertEquals(lastLogin, updated.getLastLogin());
+        User untouched = store().findSnapshotById(revoked.getId()).orElseThrow();
+        assertEquals(5, untouched.getTokenGeneration());
+        assertEquals("token-5", untouched.getToken());
+        assertEquals(CREATED, untouched.getLastLogin());
+    }
+
+    @Test
+    public void stream_IncludesEveryStoredUser() {
+        User first = user("first", 0);
+        User second = user("second", 7);
+        store().persistAll(List.of(first, second));
+
+        Set<String> emails = readOnly(() -> {
+            try (Stream<String> stream = store().streamAllEmails()) {
+                return stream.collect(Collectors.toSet());
+            }
+        });
+        Map<UUID, Integer> generations = readOnly(() -> {
+            try (Stream<Object[]> stream = store().streamTokenGenerations()) {
+                return stream.collect(Collectors.toMap(row -> (UUID) row[0], row -> ((Number) row[1]).intValue()));
+            }
+        });
+
+        assertTrue(emails.containsAll(List.of(email("first"), email("second"))));
+        assertEquals(0, generations.get(first.getId()));
+        assertEquals(7, generations.get(second.getId()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.globallogic.userManagementDemo.user.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globallogic.userManagementDemo.user.dto.LoginResponse;
+import com.globallogic.userManagementDemo.user.dto.PhoneResponse;
+import com.globallogic.userManagementDemo.user.dto.SignUpBatchResult;
+import com.globallogic.userManagementDemo.user.dto.SignUpResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserResponseModule Unit Tests")
+class UserResponseModuleTest {
+
+    private final ObjectMapper annotated = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper dedicated = Jackson2ObjectMapperBuilder.json().modulesToInstall(new UserResponseModule()).build();
+
+    @Test
+    void responses_AreByteIdenticalToAnnotationDrivenOutput() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2025, 5, 25, 19, 43, 46, 123_456_789);
+        LocalDateTime midnight = LocalDateTime.of(2025, 1, 1, 0, 0, 5);
+        List<PhoneResponse> phones = Arrays.asList(new PhoneResponse(87650009L, 7, "25"), new PhoneResponse(null, null, null), null);
+        List<Object> responses = List.of(
+                new SignUpResponse(UUID.randomUUID(), created, midnight, "eyJhbGciOiJIUzI1NiJ9.e30.sig", true),
+                new SignUpResponse(),
+                new LoginResponse(UUID.randomUUID(), created, midnight, "token", false, "Julio \"El\" González\n",
+                        "julio@testssw.cl", "$2a$10$hash/ ", phones),
+                new LoginResponse(UUID.randomUUID(), created, created, "token", true, "Julio", "julio@testssw.cl", null,
+                        Collections.emptyList()),
+                new LoginResponse(),
+                new SignUpBatchResult(3, 201, null, new SignUpResponse(UUID.randomUUID(), created, created, "t", true)));
+
+        for (Object response : responses) {
+            assertArrayEquals(annotated.writeValueAsBytes(response), dedicated.writeValueAsBytes(response),
+                    () -> annotated.valueToTree(response).toString());
+            assertEquals(annotated.writeValueAsString(response), dedicated.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    void dates_MatchDateTimeFormatterForEveryMonthAndHour() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            SignUpResponse response = new SignUpResponse(null, dateTime, null, null, null);
+
+            assertEquals(annotated.writeValueAsString(response), dedicated.writeValueAsString(response));
+        }
+        SignUpResponse farFuture = new SignUpResponse(null, LocalDateTime.of(12_345, 6, 7, 8, 9, 10), null, null, null);
+        assertEquals(annotated.writeValueAsString(farFuture), dedicated.writeValueAsString(farFuture));
+    }
+}
@@ -0,0 +1,42 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.UserStoreContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@DisplayName("LogUserStore UserStore Contract Tests")
+class LogUserStoreContractTest extends UserStoreContractTest {
+
+    @TempDir
+    Path directory;
+
+    private LogUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setEngine("log");
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        properties.setSnapshotInterval(Duration.ofHours(1));
+        store = new LogUserStore(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Override
+    protected UserStore store() {
+        return store;
+    }
+}
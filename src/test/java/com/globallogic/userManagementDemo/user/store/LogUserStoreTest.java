@@ -0,0 +1,229 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.TestUsers;
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogUserStore Unit Tests")
+class LogUserStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private UserStoreProperties properties;
+    private final List<LogUserStore> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserStoreProperties();
+        properties.setEngine("log");
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        properties.setSnapshotInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (LogUserStore store : opened) {
+            store.close();
+        }
+    }
+
+    @Test
+    void persist_IndexesByIdAndEmail() {
+        LogUserStore store = open();
+        User user = newUser("julio@testssw.cl");
+
+        store.persist(user);
+
+        User stored = store.findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(user.getEmail(), stored.getEmail());
+        assertEquals(1, stored.getPhones().size());
+        assertNotNull(user.getPhones().get(0).getId());
+        assertEquals(user.getId(), store.findByEmail("julio@testssw.cl").orElseThrow().getId());
+        assertEquals(List.of("julio@testssw.cl"), store.findExistingEmails(List.of("julio@testssw.cl", "other@testssw.cl")));
+    }
+
+    @Test
+    void persistAll_RejectsDuplicateEmailsWithoutWritingAnything() {
+        LogUserStore store = open();
+        store.persist(newUser("taken@testssw.cl"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.persist(newUser("taken@testssw.cl")));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store.persistAll(List.of(newUser("new@testssw.cl"), newUser("taken@testssw.cl"))));
+
+        assertEquals(1, store.size());
+        assertTrue(store.findByEmail("new@testssw.cl").isEmpty());
+    }
+
+    @Test
+    void persistAll_WritesTheBatchAsOneRecordEvenWhenItOutgrowsASegment() throws IOException {
+        LogUserStore store = open();
+        store.persist(newUser("first@testssw.cl"));
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(newUser("user" + i + "@testssw.cl"));
+        }
+
+        store.persistAll(batch);
+
+        assertEquals(41, store.size());
+        assertNotNull(batch.get(39).getPhones().get(0).getId());
+        assertEquals(2, segments().size());
+        assertEquals(41, open().size());
+    }
+
+    @Test
+    void open_DiscardsATornBatchAsAWhole() throws IOException {
+        LogUserStore store = open();
+        User first = store.persist(newUser("first@testssw.cl"));
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(newUser("user" + i + "@testssw.cl"));
+        }
+        store.persistAll(batch);
+        try (FileChannel channel = FileChannel.open(segments().get(1), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0xBAD).flip(), 4);
+        }
+
+        LogUserStore recovered = open();
+
+        assertEquals(1, recovered.size());
+        assertTrue(recovered.findSnapshotById(first.getId()).isPresent());
+        assertTrue(recovered.findExistingEmails(List.of("user0@testssw.cl", "user39@testssw.cl")).isEmpty());
+    }
+
+    @Test
+    void updateLogin_OnlyAppliesNewerGenerations() {
+        LogUserStore store = open();
+        User user = store.persist(newUser("julio@testssw.cl"));
+        LocalDateTime now = LocalDateTime.of(2025, 5, 20, 10, 0, 0, 123_000_000);
+
+        assertEquals(1, store.updateLogin(user.getId(), now, "token-1", 1));
+        assertEquals(0, store.updateLogin(user.getId(), now.plusMinutes(1), "stale", 1));
+        assertEquals(1, store.revokeTokens(user.getId(), 2));
+        store.updateLogins(Collections.singletonList(new UserStore.LoginUpdate(user.getId(), now, "late", 1)));
+
+        User stored = store.findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(now, stored.getLastLogin());
+        assertNull(stored.getToken());
+        assertEquals(2, stored.getTokenGeneration());
+    }
+
+    @Test
+    void open_ReplaysLogAcrossSegmentsAfterCrash() {
+        LogUserStore store = open();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(store.persist(newUser("user" + i + "@testssw.cl")).getId());
+        }
+        LocalDateTime now = LocalDateTime.of(2025, 5, 20, 10, 0);
+        store.updateLogin(ids.get(7), now, "token-7", 1);
+
+        // No close: the next instance only sees what the log has.
+        LogUserStore recovered = open();
+
+        assertEquals(50, recovered.size());
+        User user = recovered.findSnapshotById(ids.get(7)).orElseThrow();
+        assertEquals("token-7", user.getToken());
+        assertEquals(now, user.getLastLogin());
+        assertEquals(1, user.getTokenGeneration());
+        assertTrue(recovered.findByEmail("user49@testssw.cl").isPresent());
+    }
+
+    @Test
+    void open_DiscardsTornRecordAtTheEndOfTheLog() throws IOException {
+        LogUserStore store = open();
+        User user = store.persist(newUser("julio@testssw.cl"));
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = endOfRecords(channel);
+            channel.write(ByteBuffer.allocate(12).putInt(200).putInt(0xBAD).putInt(42).flip(), end);
+        }
+
+        LogUserStore recovered = open();
+
+        assertEquals(1, recovered.size());
+        assertTrue(recovered.findSnapshotById(user.getId()).isPresent());
+        recovered.persist(newUser("next@testssw.cl"));
+        assertEquals(2, open().size());
+    }
+
+    @Test
+    void snapshot_CompactsLogAndRecovers() throws IOException {
+        LogUserStore store = open();
+        User user = store.persist(newUser("julio@testssw.cl"));
+        for (int generation = 1; generation <= 100; generation++) {
+            store.updateLogin(user.getId(), LocalDateTime.of(2025, 5, 20, 10, 0), "token-" + generation, generation);
+        }
+        assertTrue(segments().size() > 1);
+
+        store.snapshot();
+        store.updateLogin(user.getId(), LocalDateTime.of(2025, 5, 21, 10, 0), "token-101", 101);
+
+        assertEquals(1, segments().size());
+        LogUserStore recovered = open();
+        User stored = recovered.findSnapshotById(user.getId()).orElseThrow();
+        assertEquals("token-101", stored.getToken());
+        assertEquals(101, stored.getTokenGeneration());
+        assertEquals(1, stored.getPhones().size());
+        recovered.persist(newUser("next@testssw.cl"));
+        assertNotEquals(stored.getPhones().get(0).getId(),
+                recovered.findByEmail("next@testssw.cl").orElseThrow().getPhones().get(0).getId());
+    }
+
+    private LogUserStore open() {
+        LogUserStore store = new LogUserStore(properties);
+        opened.add(store);
+        return store;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long endOfRecords(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = 0;
+        while (true) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.flip().getInt();
+            if (length == 0) {
+                return position;
+            }
+            position += 8 + length;
+        }
+    }
+
+    private static User newUser(String email) {
+        return TestUsers.user(email);
+    }
+}
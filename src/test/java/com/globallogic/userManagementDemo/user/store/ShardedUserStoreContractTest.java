@@ -0,0 +1,42 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.UserStore;
+import com.globallogic.userManagementDemo.user.UserStoreContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+@DisplayName("ShardedUserStore UserStore Contract Tests")
+class ShardedUserStoreContractTest extends UserStoreContractTest {
+
+    private ShardedUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "jdbc:h2:mem:" + UUID.randomUUID() + "-";
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setEngine("sharded");
+        properties.setBuckets(16);
+        for (int i = 0; i < 3; i++) {
+            UserStoreProperties.Shard shard = new UserStoreProperties.Shard();
+            shard.setUrl(prefix + "shard" + i + ";DB_CLOSE_DELAY=-1");
+            shard.setUsername("sa");
+            properties.getShards().add(shard);
+        }
+        store = new ShardedUserStore(new DriverManagerDataSource(prefix + "directory;DB_CLOSE_DELAY=-1", "sa", ""),
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Override
+    protected UserStore store() {
+        return store;
+    }
+}
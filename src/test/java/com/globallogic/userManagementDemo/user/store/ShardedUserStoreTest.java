@@ -0,0 +1,195 @@
+package com.globallogic.userManagementDemo.user.store;
+
+import com.globallogic.userManagementDemo.user.TestUsers;
+import com.globallogic.userManagementDemo.user.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedUserStore Unit Tests")
+class ShardedUserStoreTest {
+
+    private final String prefix = "jdbc:h2:mem:" + UUID.randomUUID() + "-";
+    private final List<ShardedUserStore> opened = new ArrayList<>();
+    private DataSource directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new DriverManagerDataSource(prefix + "directory;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(ShardedUserStore::close);
+    }
+
+    @Test
+    void persist_SpreadsUsersOverShardsAndFindsThemByIdAndEmail() {
+        ShardedUserStore store = open(3);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            users.add(store.persist(newUser("user" + i + "@testssw.cl")));
+        }
+
+        Set<Long> phoneIds = new HashSet<>();
+        for (User user : users) {
+            User stored = store.findSnapshotById(user.getId()).orElseThrow();
+            assertEquals(user.getEmail(), stored.getEmail());
+            assertEquals(2, stored.getPhones().size());
+            assertEquals(87650009L, stored.getPhones().get(0).getNumber());
+            assertEquals(user.getPhones().get(0).getId(), stored.getPhones().get(0).getId());
+            stored.getPhones().forEach(phone -> phoneIds.add(phone.getId()));
+            assertEquals(user.getId(), store.findByEmail(user.getEmail()).orElseThrow().getId());
+        }
+        assertEquals(120, phoneIds.size());
+        for (int shard = 0; shard < 3; shard++) {
+            assertTrue(usersOn(shard) > 0, "shard " + shard + " is empty");
+        }
+        assertEquals(List.of("user7@testssw.cl"), store.findExistingEmails(List.of("user7@testssw.cl", "new@testssw.cl")));
+        try (Stream<Object[]> generations = store.streamTokenGenerations()) {
+            assertEquals(60, generations.count());
+        }
+    }
+
+    @Test
+    void persistAll_RejectsDuplicateEmailsAcrossShardsWithoutWritingAnything() {
+        ShardedUserStore store = open(3);
+        store.persist(newUser("taken@testssw.cl"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.persist(newUser("taken@testssw.cl")));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store.persistAll(List.of(newUser("new@testssw.cl"), newUser("taken@testssw.cl"))));
+
+        assertTrue(store.findByEmail("new@testssw.cl").isEmpty());
+        assertEquals(1, usersOn(0) + usersOn(1) + usersOn(2));
+    }
+
+    @Test
+    void updateLogin_OnlyAppliesNewerGenerations() {
+        ShardedUserStore store = open(2);
+        User user = store.persist(newUser("julio@testssw.cl"));
+        LocalDateTime now = LocalDateTime.of(2025, 5, 20, 10, 0, 0, 123_000_000);
+
+        assertEquals(1, store.updateLogin(user.getId(), now, "token-1", 1));
+        assertEquals(0, store.updateLogin(user.getId(), now.plusMinutes(1), "stale", 1));
+        assertEquals(1, store.revokeTokens(user.getId(), 2));
+
+        User stored = store.findSnapshotById(user.getId()).orElseThrow();
+        assertEquals(now, stored.getLastLogin());
+        assertNull(stored.getToken());
+        assertEquals(2, stored.getTokenGeneration());
+    }
+
+    @Test
+    void persist_ConfirmsTheEmailClaimOnceTheUserIsStored() {
+        ShardedUserStore store = open(2);
+        store.persist(newUser("julio@testssw.cl"));
+
+        assertEquals(0, pendingClaims());
+    }
+
+    @Test
+    void reconcileClaims_ReleasesStaleClaimsWithNoUserBehindThem() {
+        ShardedUserStore store = open(2);
+        User stored = store.persist(newUser("stored@testssw.cl"));
+        JdbcTemplate jdbc = new JdbcTemplate(directory);
+        Timestamp stale = Timestamp.valueOf(LocalDateTime.now().minusMinutes(5));
+        // A crash after the shard insert, and one before it.
+        jdbc.update("update user_emails set claimed_at = ? where email = ?", stale, "stored@testssw.cl");
+        jdbc.update("insert into user_emails (email, user_id, claimed_at) values (?, ?, ?)",
+                "orphan@testssw.cl", UUID.randomUUID(), stale);
+        jdbc.update("insert into user_emails (email, user_id, claimed_at) values (?, ?, ?)",
+                "inflight@testssw.cl", UUID.randomUUID(), Timestamp.valueOf(LocalDateTime.now()));
+        assertThrows(DataIntegrityViolationException.class, () -> store.persist(newUser("orphan@testssw.cl")));
+
+        assertEquals(1, store.reconcileClaims(Duration.ofMinutes(1)));
+
+        assertEquals(1, pendingClaims());
+        assertEquals(stored.getId(), store.findByEmail("stored@testssw.cl").orElseThrow().getId());
+        assertEquals(List.of("inflight@testssw.cl"),
+                store.findExistingEmails(List.of("orphan@testssw.cl", "inflight@testssw.cl")));
+        User user = store.persist(newUser("orphan@testssw.cl"));
+        assertEquals(user.getId(), store.findByEmail("orphan@testssw.cl").orElseThrow().getId());
+    }
+
+    @Test
+    void rebalance_MovesAShareOfTheUsersToANewShard() {
+        ShardedUserStore twoShards = open(2);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(twoShards.persist(newUser("user" + i + "@testssw.cl")));
+        }
+        twoShards.close();
+        opened.remove(twoShards);
+
+        ShardedUserStore threeShards = open(3);
+        assertEquals(0, usersOn(2));
+        long moved = new ShardRebalancer(threeShards, properties(3)).rebalance();
+
+        assertEquals(moved, usersOn(2));
+        assertTrue(moved > 0);
+        assertEquals(200, usersOn(0) + usersOn(1) + usersOn(2));
+        for (User user : users) {
+            User stored = threeShards.findSnapshotById(user.getId()).orElseThrow();
+            assertEquals(2, stored.getPhones().size());
+            assertEquals(user.getPhones().get(1).getId(), stored.getPhones().get(1).getId());
+            assertEquals(user.getEmail(), stored.getEmail());
+        }
+        assertEquals(0, new ShardRebalancer(threeShards, properties(3)).rebalance());
+    }
+
+    private ShardedUserStore open(int shards) {
+        ShardedUserStore store = new ShardedUserStore(directory, properties(shards));
+        opened.add(store);
+        return store;
+    }
+
+    private UserStoreProperties properties(int shards) {
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setEngine("sharded");
+        properties.setBuckets(16);
+        properties.setRebalanceBatchSize(7);
+        for (int i = 0; i < shards; i++) {
+            UserStoreProperties.Shard shard = new UserStoreProperties.Shard();
+            shard.setUrl(shardUrl(i));
+            shard.setUsername("sa");
+            properties.getShards().add(shard);
+        }
+        return properties;
+    }
+
+    private String shardUrl(int shard) {
+        return prefix + "shard" + shard + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private int pendingClaims() {
+        return new JdbcTemplate(directory).queryForObject("select count(*) from user_emails where claimed_at is not null",
+                Integer.class);
+    }
+
+    private int usersOn(int shard) {
+        return new JdbcTemplate(new DriverManagerDataSource(shardUrl(shard), "sa", ""))
+                .queryForObject("select count(*) from users", Integer.class);
+    }
+
+    private static User newUser(String email) {
+        return TestUsers.user(email, 0, TestUsers.PHONE_NUMBER, 12345678L);
+    }
+}